@@ -6,12 +6,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Aspect
 @Component
@@ -20,40 +24,33 @@ public class DatabasePerformanceAspect {
 
     private final DatabasePerformanceInterceptor dbInterceptor;
 
-    @Around("execution(* com.example.languagelearning.repository.*.*(..))")
+    // Bez kursorów forEach* (WordBulkOperations) - wołają callback wywołującego na każdym wierszu, więc
+    // zapis CSV/JSON i czytanie odpowiedzi przez klienta liczyłyby się jako czas bazy
+    @Around("execution(* com.example.languagelearning.repository.*.*(..))"
+            + " && !execution(* com.example.languagelearning.repository.*.forEach*(..))")
     public Object measureRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes == null) {
-            return joinPoint.proceed(); // Brak kontekstu HTTP (np. testy)
+        if (!dbInterceptor.isEnabled()) {
+            return joinPoint.proceed();
         }
 
-        HttpServletRequest request = attributes.getRequest();
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String operation = className + "." + methodName;
-
-        // Rozpocznij pomiar operacji DB
-        dbInterceptor.startDbOperation(request);
-        long startTime = System.currentTimeMillis();
-
+        long startTime = System.nanoTime();
         try {
-            Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            // Zaloguj czas operacji DB
-            dbInterceptor.endDbOperation(request, operation, duration);
-            
-            return result;
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("DB OPERATION FAILED: {} - Operation: {} - Time: {}ms - Error: {}", 
-                    getEndpointKey(request), operation, duration, e.getMessage());
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            log.error("DB OPERATION FAILED: {} - Time: {}ms - Error: {}",
+                    joinPoint.getSignature().toShortString(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), e.getMessage());
             throw e;
+        } finally {
+            long duration = System.nanoTime() - startTime;
+            // Brak kontekstu HTTP (np. zadania w tle) - liczymy tylko histogram metody
+            dbInterceptor.recordDbOperation(currentRequest(), joinPoint.getThis().getClass(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), duration);
         }
     }
 
-    private String getEndpointKey(HttpServletRequest request) {
-        return request.getMethod() + " " + request.getRequestURI() + 
-                (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
     }
 }
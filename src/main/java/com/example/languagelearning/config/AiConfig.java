@@ -10,11 +10,13 @@ import org.springframework.context.annotation.Configuration;
 public class AiConfig {
 
     @Bean
-    public ChatClient chatClient(ChatModel chatModel) {
+    public ChatClient chatClient(ChatModel chatModel, AiRoutingProperties routingProperties,
+                                 AiTelemetryAdvisor telemetryAdvisor) {
         return ChatClient.builder(chatModel)
+                .defaultAdvisors(telemetryAdvisor)
                 .defaultOptions(OpenAiChatOptions.builder()
-                        .model("gpt-4o")
-                        .temperature(0.4)
+                        .model(routingProperties.getStrongModel())
+                        .temperature(routingProperties.getTemperature())
                         .build())
                 .build();
     }
@@ -0,0 +1,25 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.routing")
+public class AiRoutingProperties {
+
+    /**
+     * When disabled every routed call goes straight to the strong model.
+     */
+    private boolean enabled = true;
+
+    private String fastModel = "gpt-4o-mini";
+    private String strongModel = "gpt-4o";
+    private double temperature = 0.4;
+
+    /**
+     * Fast-tier answers reporting a lower confidence than this are escalated.
+     */
+    private double minConfidence = 0.7;
+}
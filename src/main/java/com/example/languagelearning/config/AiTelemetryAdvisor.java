@@ -0,0 +1,169 @@
+package com.example.languagelearning.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.advisor.api.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.AdvisedResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ChatClient advisor recording latency, time to first token, token usage and estimated cost of
+ * every model call. Callers tag calls with {@link #PROMPT_TYPE} (and optionally {@link #TIER})
+ * advisor params; untagged calls are reported as "unknown".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiTelemetryAdvisor implements CallAroundAdvisor, StreamAroundAdvisor {
+
+    public static final String PROMPT_TYPE = "telemetry.promptType";
+    public static final String TIER = "telemetry.tier";
+
+    private final MeterRegistry meterRegistry;
+    private final AiTelemetryProperties properties;
+
+    @Override
+    public String getName() {
+        return "AiTelemetryAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        // Run closest to the model so the measured time excludes other advisors
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public AdvisedResponse aroundCall(AdvisedRequest advisedRequest, CallAroundAdvisorChain chain) {
+        long start = System.nanoTime();
+        try {
+            AdvisedResponse response = chain.nextAroundCall(advisedRequest);
+            long elapsed = System.nanoTime() - start;
+            // A blocking call delivers the first token together with the whole completion
+            record(advisedRequest, response != null ? response.response() : null, elapsed, elapsed, "success");
+            return response;
+        } catch (RuntimeException e) {
+            record(advisedRequest, null, -1, System.nanoTime() - start, "error");
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<AdvisedResponse> aroundStream(AdvisedRequest advisedRequest, StreamAroundAdvisorChain chain) {
+        long start = System.nanoTime();
+        AtomicLong firstToken = new AtomicLong(-1);
+        AtomicReference<ChatResponse> last = new AtomicReference<>();
+        return chain.nextAroundStream(advisedRequest)
+                .doOnNext(response -> {
+                    firstToken.compareAndSet(-1, System.nanoTime() - start);
+                    if (response.response() != null) {
+                        last.set(response.response());
+                    }
+                })
+                .doOnComplete(() -> record(advisedRequest, last.get(), firstToken.get(), System.nanoTime() - start, "success"))
+                .doOnError(e -> record(advisedRequest, null, firstToken.get(), System.nanoTime() - start, "error"));
+    }
+
+    /**
+     * Records whether the caller could turn the model output into a usable result.
+     */
+    public void recordParseOutcome(String promptType, String tier, boolean success) {
+        Counter.builder("ai.call.parse")
+                .description("Parse outcome of model responses")
+                .tags("promptType", promptType, "tier", tier, "outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void record(AdvisedRequest request, ChatResponse response, long firstTokenNanos, long totalNanos, String outcome) {
+        try {
+            String promptType = param(request, PROMPT_TYPE, "unknown");
+            String tier = param(request, TIER, "default");
+            String model = resolveModel(request, response);
+
+            Timer.builder("ai.call.latency")
+                    .description("Total chat model call latency")
+                    .tags("promptType", promptType, "tier", tier, "model", model, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(totalNanos, TimeUnit.NANOSECONDS);
+
+            if (firstTokenNanos >= 0) {
+                Timer.builder("ai.call.ttft")
+                        .description("Time to first token")
+                        .tags("promptType", promptType, "tier", tier, "model", model)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(firstTokenNanos, TimeUnit.NANOSECONDS);
+            }
+
+            Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+            if (usage == null) {
+                return;
+            }
+            int promptTokens = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+            int completionTokens = usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+            tokenSummary(promptType, tier, model, "prompt").record(promptTokens);
+            tokenSummary(promptType, tier, model, "completion").record(completionTokens);
+
+            AiTelemetryProperties.ModelPrice price = properties.getPrice(model);
+            if (price != null) {
+                double cost = (promptTokens * price.getPromptPerMillion()
+                        + completionTokens * price.getCompletionPerMillion()) / 1_000_000d;
+                Counter.builder("ai.call.cost")
+                        .description("Estimated model spend in USD")
+                        .baseUnit("usd")
+                        .tags("promptType", promptType, "tier", tier, "model", model)
+                        .register(meterRegistry)
+                        .increment(cost);
+            }
+            log.debug("AI call {} [{}] model={} tokens={}/{} time={}ms",
+                    promptType, tier, model, promptTokens, completionTokens, TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        } catch (Exception e) {
+            // Telemetry must never break the actual call
+            log.warn("Failed to record AI call telemetry", e);
+        }
+    }
+
+    private DistributionSummary tokenSummary(String promptType, String tier, String model, String kind) {
+        return DistributionSummary.builder("ai.call.tokens")
+                .description("Tokens per chat model call")
+                .baseUnit("tokens")
+                .tags("promptType", promptType, "tier", tier, "model", model, "kind", kind)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String param(AdvisedRequest request, String key, String defaultValue) {
+        Object value = request.adviseContext() != null ? request.adviseContext().get(key) : null;
+        if (value == null && request.advisorParams() != null) {
+            value = request.advisorParams().get(key);
+        }
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    private String resolveModel(AdvisedRequest request, ChatResponse response) {
+        if (request.chatOptions() != null && request.chatOptions().getModel() != null) {
+            return request.chatOptions().getModel();
+        }
+        if (response != null && response.getMetadata() != null && response.getMetadata().getModel() != null) {
+            return response.getMetadata().getModel();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.telemetry")
+public class AiTelemetryProperties {
+
+    /**
+     * USD prices per million tokens, keyed by model name (or model name prefix).
+     */
+    private Map<String, ModelPrice> pricing = new HashMap<>();
+
+    public ModelPrice getPrice(String model) {
+        if (model == null) {
+            return null;
+        }
+        ModelPrice price = pricing.get(model);
+        if (price != null) {
+            return price;
+        }
+        // Providers report dated model ids (gpt-4o-2024-08-06), so fall back to the longest matching prefix
+        String bestKey = null;
+        for (String key : pricing.keySet()) {
+            if (model.startsWith(key) && (bestKey == null || key.length() > bestKey.length())) {
+                bestKey = key;
+            }
+        }
+        return bestKey != null ? pricing.get(bestKey) : null;
+    }
+
+    @Data
+    public static class ModelPrice {
+        private double promptPerMillion;
+        private double completionPerMillion;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.languagelearning.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary representations of the REST responses, chosen by the {@code Accept} header:
+ * {@code application/cbor} and {@code application/x-jackson-smile}. JSON stays the default for
+ * {@code Accept: *}{@code /*} - Spring Boot keeps its converter first.
+ * <p>
+ * Both converters use mappers from Boot's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * JSON mapper's settings and modules - including Blackbird, which replaces reflective getter and
+ * constructor calls with accessors generated through {@code LambdaMetafactory}. The binary factory is
+ * set on the injected (prototype) builder; the static {@code Jackson2ObjectMapperBuilder.cbor()} would
+ * start from a fresh builder and drop Boot's configuration, e.g. ISO-8601 dates.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
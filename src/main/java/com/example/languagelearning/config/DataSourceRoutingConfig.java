@@ -0,0 +1,92 @@
+package com.example.languagelearning.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split over a primary and its streaming replicas, replacing Spring Boot's single pool.
+ * <p>
+ * {@link LazyConnectionDataSourceProxy} fetches the physical connection only at the first
+ * statement, once the transaction manager has marked it read-only: read-only transactions
+ * ({@code @Transactional(readOnly = true)}, Spring Data reads) then take it from
+ * {@link ReplicaRoutingDataSource}, all others from the primary. Each pool is a separate Hikari
+ * pool with its own {@code hikaricp.*} metrics, tagged by pool name.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public RoutingPools routingPools(DataSourceProperties dataSourceProperties, DataSourceRoutingProperties routing,
+                                     Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setMinimumIdle(Math.min(primary.getMinimumIdle(), replica.getMaximumPoolSize()));
+            pool.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            pool.setValidationTimeout(Math.min(primary.getValidationTimeout(), replica.getConnectionTimeout().toMillis()));
+            pool.setIdleTimeout(primary.getIdleTimeout());
+            pool.setMaxLifetime(primary.getMaxLifetime());
+            pool.setConnectionInitSql(replica.getConnectionInitSql());
+            pool.setReadOnly(true);
+            // Niedostępna replika nie blokuje startu - odczyty przejdą na primary
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(pool);
+        }
+        log.info("Read/write routing: primary pool {}, {} replica pool(s)", primary.getPoolName(), replicas.size());
+        return new RoutingPools(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingPools pools, DataSourceRoutingProperties routing, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(pools.primary());
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(pools.primary(), pools.replicas(),
+                routing.getReplicaRetryInterval(), meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public PrimaryWalPosition primaryWalPosition(RoutingPools pools) {
+        return new PrimaryWalPosition(pools.primary());
+    }
+
+    /**
+     * The pools behind the routing DataSource, closed on shutdown.
+     */
+    public record RoutingPools(HikariDataSource primary, List<HikariDataSource> replicas) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            replicas.forEach(HikariDataSource::close);
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource-routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Sends read-only transactions of GET requests to the replicas below. When disabled, Spring
+     * Boot's single pool on spring.datasource serves everything.
+     */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long after a mutating request the same client reads from the primary (read-your-writes
+     * despite replica lag). Should exceed the usual replication lag.
+     */
+    private Duration stickinessWindow = Duration.ofSeconds(5);
+
+    /**
+     * Cookie carrying the end of the stickiness window (epoch millis).
+     */
+    private String stickinessCookie = "db-primary-until";
+
+    /**
+     * How long a replica that failed to give a connection is skipped before it is tried again.
+     */
+    private Duration replicaRetryInterval = Duration.ofSeconds(30);
+
+    @Data
+    public static class Replica {
+        private String url;
+        /**
+         * Defaults to spring.datasource.username / password.
+         */
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        /**
+         * Short, so an unreachable replica falls back to the primary quickly.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+        /**
+         * Without the primary's {@code SET ... READ WRITE} - a hot standby rejects it.
+         */
+        private String connectionInitSql;
+    }
+}
@@ -1,70 +1,172 @@
 package com.example.languagelearning.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @Component
 public class DatabasePerformanceInterceptor implements HandlerInterceptor {
 
-    private static final String DB_START_TIME_ATTRIBUTE = "dbStartTime";
-    private static final String DB_OPERATIONS_ATTRIBUTE = "dbOperations";
-    private static final ConcurrentHashMap<String, AtomicLong> endpointDbTimeMap = new ConcurrentHashMap<>();
+    private static final String DB_STATS_ATTRIBUTE = "dbStats";
+    private static final String REPOSITORY_PACKAGE = "com.example.languagelearning.repository";
+
+    private final MonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Map<Method, Timer>> repositoryTimers = new ConcurrentHashMap<>();
+    private final Map<String, RouteDbBudget> routeBudgets = new ConcurrentHashMap<>();
+
+    public DatabasePerformanceInterceptor(MonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.getDb().isEnabled();
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        // Inicjalizuj licznik operacji DB dla tego requestu
-        request.setAttribute(DB_OPERATIONS_ATTRIBUTE, new AtomicLong(0));
+        if (isEnabled()) {
+            // Inicjalizuj licznik operacji DB dla tego requestu
+            request.setAttribute(DB_STATS_ATTRIBUTE, new DbRequestStats());
+        }
         return true;
     }
 
-    public void startDbOperation(HttpServletRequest request) {
-        if (request.getAttribute(DB_START_TIME_ATTRIBUTE) == null) {
-            request.setAttribute(DB_START_TIME_ATTRIBUTE, System.currentTimeMillis());
+    /**
+     * Records one repository call: adds it to the request's DB total (when called within an HTTP
+     * request) and to the per-repository-method latency histogram.
+     */
+    public void recordDbOperation(HttpServletRequest request, Class<?> repositoryClass, Method method, long durationNanos) {
+        repositoryTimers.computeIfAbsent(repositoryClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> createRepositoryTimer(repositoryClass, method))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (request != null && request.getAttribute(DB_STATS_ATTRIBUTE) instanceof DbRequestStats stats) {
+            stats.dbNanos += durationNanos;
+            stats.operations++;
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if (durationMs > properties.getDb().getSlowOperationThresholdMs()) {
+            log.warn("SLOW DB OPERATION: {} - Operation: {}.{} - Time: {}ms ⚠️",
+                    request != null ? request.getMethod() + " " + request.getRequestURI() : "-",
+                    repositoryName(repositoryClass), method.getName(), durationMs);
+        }
+    }
+
+    /**
+     * Adds the finished request to its route's DB budget and logs requests dominated by DB time.
+     */
+    public void completeRequest(HttpServletRequest request, String route, long requestNanos) {
+        if (!(request.getAttribute(DB_STATS_ATTRIBUTE) instanceof DbRequestStats stats)) {
+            return;
         }
-        AtomicLong operations = (AtomicLong) request.getAttribute(DB_OPERATIONS_ATTRIBUTE);
-        if (operations != null) {
-            operations.incrementAndGet();
+        routeBudgets.computeIfAbsent(request.getMethod() + " " + route, key -> new RouteDbBudget())
+                .add(requestNanos, stats.dbNanos, stats.operations);
+
+        long totalDbMs = TimeUnit.NANOSECONDS.toMillis(stats.dbNanos);
+        if (totalDbMs > 2000) { // > 2 sekundy
+            log.warn("HIGH DB TIME: {} {} - Total DB time: {}ms for {} operations ⚠️",
+                    request.getMethod(), route, totalDbMs, stats.operations);
+        } else if (totalDbMs > 1000) { // > 1 sekunda
+            log.info("DB SUMMARY: {} {} - Total DB time: {}ms for {} operations 🐌",
+                    request.getMethod(), route, totalDbMs, stats.operations);
         }
     }
 
-    public void endDbOperation(HttpServletRequest request, String operation, long duration) {
-        String endpoint = getEndpointKey(request);
-        
-        // Logowanie czasu operacji DB
-        if (duration > 1000) { // > 1 sekunda
-            log.warn("SLOW DB OPERATION: {} - Operation: {} - Time: {}ms ⚠️", endpoint, operation, duration);
-        } else if (duration > 500) { // > 500ms
-            log.info("DB OPERATION: {} - Operation: {} - Time: {}ms 🐌", endpoint, operation, duration);
-        } else {
-            log.debug("DB OPERATION: {} - Operation: {} - Time: {}ms ✅", endpoint, operation, duration);
+    /**
+     * Per-route share of request latency spent in repository calls, most DB-heavy routes first.
+     */
+    public List<Map<String, Object>> getRouteDbBudgets() {
+        List<Map.Entry<String, RouteDbBudget>> entries = new ArrayList<>(routeBudgets.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, RouteDbBudget> e) -> e.getValue().dbNanos.sum()).reversed());
+
+        List<Map<String, Object>> report = new ArrayList<>(entries.size());
+        for (Map.Entry<String, RouteDbBudget> entry : entries) {
+            RouteDbBudget budget = entry.getValue();
+            long requests = budget.requests.sum();
+            long totalNanos = budget.totalNanos.sum();
+            long dbNanos = budget.dbNanos.sum();
+            if (requests == 0) {
+                continue;
+            }
+            report.add(Map.of(
+                    "route", entry.getKey(),
+                    "requests", requests,
+                    "avgLatencyMs", nanosToMillis(totalNanos / (double) requests),
+                    "avgDbTimeMs", nanosToMillis(dbNanos / (double) requests),
+                    "avgDbOperations", budget.operations.sum() / (double) requests,
+                    "dbSharePercent", totalNanos > 0 ? Math.round(dbNanos * 1000d / totalNanos) / 10d : 0d
+            ));
         }
+        return report;
+    }
+
+    public void resetRouteDbBudgets() {
+        routeBudgets.clear();
+    }
+
+    private Timer createRepositoryTimer(Class<?> repositoryClass, Method method) {
+        return Timer.builder("db.repository.latency")
+                .description("Repository method latency")
+                .tag("method", repositoryName(repositoryClass) + "." + method.getName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    public void logTotalDbTime(HttpServletRequest request) {
-        Long startTime = (Long) request.getAttribute(DB_START_TIME_ATTRIBUTE);
-        AtomicLong operations = (AtomicLong) request.getAttribute(DB_OPERATIONS_ATTRIBUTE);
-        
-        if (startTime != null && operations != null && operations.get() > 0) {
-            long totalTime = System.currentTimeMillis() - startTime;
-            String endpoint = getEndpointKey(request);
-            
-            if (totalTime > 2000) { // > 2 sekundy
-                log.warn("HIGH DB TIME: {} - Total DB time: {}ms for {} operations ⚠️", endpoint, totalTime, operations.get());
-            } else if (totalTime > 1000) { // > 1 sekunda
-                log.info("DB SUMMARY: {} - Total DB time: {}ms for {} operations 🐌", endpoint, totalTime, operations.get());
+    /**
+     * Spring Data repositories are JDK proxies - report the application interface, not $ProxyNN.
+     */
+    private static String repositoryName(Class<?> repositoryClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(repositoryClass)) {
+            if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return candidate.getSimpleName();
             }
         }
+        return ClassUtils.getUserClass(repositoryClass).getSimpleName();
     }
 
-    private String getEndpointKey(HttpServletRequest request) {
-        return request.getMethod() + " " + request.getRequestURI() + 
-                (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+    private static double nanosToMillis(double nanos) {
+        return Math.round(nanos / 10_000d) / 100d;
+    }
+
+    /**
+     * Mutated only by the thread serving the request.
+     */
+    private static final class DbRequestStats {
+        private long dbNanos;
+        private int operations;
+    }
+
+    private static final class RouteDbBudget {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAdder operations = new LongAdder();
+
+        private void add(long requestNanos, long requestDbNanos, int requestOperations) {
+            requests.increment();
+            totalNanos.add(requestNanos);
+            dbNanos.add(requestDbNanos);
+            operations.add(requestOperations);
+        }
     }
 }
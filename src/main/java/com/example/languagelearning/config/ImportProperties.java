@@ -0,0 +1,28 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "import")
+public class ImportProperties {
+
+    /**
+     * Words per transaction of a streamed NDJSON import. The request body is not read further
+     * while a batch is being written, so memory stays bounded by one batch.
+     */
+    private int streamBatchSize = 5000;
+
+    /**
+     * Failed line numbers listed in a streamed import summary (the count is always complete).
+     */
+    private int maxReportedFailedLines = 1000;
+
+    /**
+     * Longest NDJSON line in characters. A longer one is skipped to its end without being buffered
+     * and counts as a failed line, so one line cannot take more memory than this.
+     */
+    private int maxLineLength = 64 * 1024;
+}
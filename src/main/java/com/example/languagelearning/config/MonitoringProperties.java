@@ -0,0 +1,60 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "monitoring")
+public class MonitoringProperties {
+
+    /**
+     * Logs an INFO line at the start and end of every request. Slow requests are logged regardless.
+     */
+    private boolean requestLogging = false;
+
+    /**
+     * Requests slower than this are logged at WARN.
+     */
+    private long slowRequestThresholdMs = 3000;
+
+    private Db db = new Db();
+
+    private QueryCount queryCount = new QueryCount();
+
+    @Data
+    public static class Db {
+
+        /**
+         * Per-repository-method timing and per-route DB budget. When disabled the repository
+         * aspect falls straight through without touching the request.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Single repository calls slower than this are logged at WARN.
+         */
+        private long slowOperationThresholdMs = 500;
+    }
+
+    @Data
+    public static class QueryCount {
+
+        /**
+         * Wraps the DataSource to count JDBC statements and fetched rows per request.
+         * Read once at startup - changing it requires a restart.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Adds X-DB-Statements / X-DB-Rows-Fetched response headers (meant for the dev profile).
+         */
+        private boolean exposeHeaders = false;
+
+        /**
+         * The same SQL executed this many times within one request is reported as a likely N+1.
+         */
+        private int repeatedStatementThreshold = 5;
+    }
+}
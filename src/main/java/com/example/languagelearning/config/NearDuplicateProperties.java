@@ -0,0 +1,45 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-duplicates")
+public class NearDuplicateProperties {
+
+    /**
+     * Keeps the in-memory MinHash LSH index of all words. When disabled, imports ignore the
+     * near-duplicate option and the report endpoint returns nothing.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Character n-gram size used for shingling the normalized original word and translation.
+     */
+    private int shingleSize = 3;
+
+    /**
+     * LSH bands x rows per band = MinHash signature length. More rows make buckets stricter,
+     * more bands catch lower similarities.
+     */
+    private int bands = 12;
+    private int rowsPerBand = 4;
+
+    /**
+     * Estimated Jaccard similarity from which two words count as near-duplicates.
+     */
+    private double threshold = 0.75;
+
+    /**
+     * Buckets larger than this are skipped by the report and the import scan, so one very common
+     * bucket cannot turn the scan quadratic.
+     */
+    private int maxBucketSize = 200;
+
+    /**
+     * Near-duplicate hits listed in an import summary (the count is always complete).
+     */
+    private int maxReportedImportHits = 100;
+}
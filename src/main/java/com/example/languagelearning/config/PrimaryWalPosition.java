@@ -0,0 +1,28 @@
+package com.example.languagelearning.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Current insert position of the primary's WAL, read on a connection of its own - also from inside
+ * {@code afterCommit}, where the committed transaction's connection is still bound to the thread.
+ * Positions are compared as numbers: {@code 16/B374D848} is {@code 0x16B374D848}.
+ */
+public class PrimaryWalPosition {
+
+    private final JdbcTemplate primary;
+
+    public PrimaryWalPosition(DataSource primary) {
+        this.primary = new JdbcTemplate(primary);
+    }
+
+    public long current() {
+        return parse(primary.queryForObject("SELECT pg_current_wal_insert_lsn()", String.class));
+    }
+
+    static long parse(String lsn) {
+        int separator = lsn.indexOf('/');
+        return Long.parseLong(lsn.substring(0, separator), 16) << 32 | Long.parseLong(lsn.substring(separator + 1), 16);
+    }
+}
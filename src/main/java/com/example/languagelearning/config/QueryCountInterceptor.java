@@ -0,0 +1,97 @@
+package com.example.languagelearning.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+
+/**
+ * Binds a {@link QueryCounter} to each request, records statements/rows per route and warns
+ * about SQL repeated within one request (the usual N+1 signature).
+ */
+@Slf4j
+@Component
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String ROWS_FETCHED_HEADER = "X-DB-Rows-Fetched";
+
+    private final MonitoringProperties properties;
+    private final Meter.MeterProvider<DistributionSummary> statementSummaries;
+    private final Meter.MeterProvider<DistributionSummary> rowSummaries;
+
+    public QueryCountInterceptor(MonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.statementSummaries = DistributionSummary.builder("db.request.statements")
+                .description("JDBC statements executed per request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .withRegistry(meterRegistry);
+        this.rowSummaries = DistributionSummary.builder("db.request.rows")
+                .description("Rows fetched per request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .withRegistry(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.getQueryCount().isEnabled();
+    }
+
+    public boolean isExposeHeaders() {
+        return isEnabled() && properties.getQueryCount().isExposeHeaders();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isEnabled()) {
+            QueryCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        // Odpowiedzi bez body (np. 204) - QueryCountResponseAdvice nie zostanie wywołany
+        if (isExposeHeaders() && !response.isCommitted() && !response.containsHeader(STATEMENTS_HEADER)) {
+            QueryCounter.QueryStats stats = QueryCounter.current();
+            if (stats != null) {
+                response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                response.setHeader(ROWS_FETCHED_HEADER, String.valueOf(stats.getRowsFetched()));
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCounter.QueryStats stats = QueryCounter.stop();
+        if (stats == null) {
+            return;
+        }
+        String route = ResponseTimeInterceptor.getRoute(request);
+        statementSummaries.withTags("method", request.getMethod(), "route", route).record(stats.getStatements());
+        rowSummaries.withTags("method", request.getMethod(), "route", route).record(stats.getRowsFetched());
+
+        Map<String, Integer> repeated = stats.getRepeatedStatements(properties.getQueryCount().getRepeatedStatementThreshold());
+        repeated.forEach((sql, count) ->
+                log.warn("REPEATED STATEMENT (possible N+1): {} {} - executed {}x in one request: {} ⚠️",
+                        request.getMethod(), route, count, sql));
+    }
+
+    /**
+     * Copies the current request's counts into the given headers (used while the response is still writable).
+     */
+    static void writeHeaders(HttpHeaders headers) {
+        QueryCounter.QueryStats stats = QueryCounter.current();
+        if (stats != null) {
+            headers.set(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            headers.set(ROWS_FETCHED_HEADER, String.valueOf(stats.getRowsFetched()));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.languagelearning.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the per-request statement/row counts as headers just before the body is written -
+ * after that the response is committed and postHandle can no longer touch headers.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return queryCountInterceptor.isExposeHeaders();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCountInterceptor.writeHeaders(response.getHeaders());
+        return body;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.languagelearning.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-bound JDBC statement and row counters, filled by {@link QueryCountingDataSource}.
+ * Counting happens only between {@link #start()} and {@link #stop()} - per HTTP request via
+ * {@link QueryCountInterceptor}, or around a block of code in tests.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static final class QueryStats {
+        private int statements;
+        private long rowsFetched;
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+        void statementExecuted(String sql) {
+            statements++;
+            if (sql != null) {
+                executionsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        void rowFetched() {
+            rowsFetched++;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        /**
+         * SQL strings executed at least {@code threshold} times, with their execution counts.
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            executionsBySql.forEach((sql, count) -> {
+                if (count >= threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rowsFetched + " rows fetched";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.languagelearning.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource decorator that reports every executed statement and every fetched row to the
+ * current {@link QueryCounter}. Connections, statements and result sets are wrapped in JDK
+ * proxies; with no counter bound to the thread the proxies just delegate.
+ * <p>
+ * {@code executeBatch} counts as one statement (one round trip), as does each {@code execute*}.
+ * Driver-specific APIs (e.g. {@code unwrap(PGConnection.class)}) reach the real objects and are
+ * not counted.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        protected final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "QueryCounting[" + target + "]";
+                default:
+                    return handle(proxy, method, args);
+            }
+        }
+
+        protected abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+        protected Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement / prepareCall niosą SQL w pierwszym argumencie, createStatement - nie
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends DelegatingHandler {
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                QueryCounter.QueryStats stats = QueryCounter.current();
+                if (stats != null) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    stats.statementExecuted(sql);
+                }
+            }
+            Object result = delegate(method, args);
+            if (result instanceof ResultSet resultSet && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler extends DelegatingHandler {
+
+        ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                QueryCounter.QueryStats stats = QueryCounter.current();
+                if (stats != null) {
+                    stats.rowFetched();
+                }
+            }
+            return result;
+        }
+    }
+}
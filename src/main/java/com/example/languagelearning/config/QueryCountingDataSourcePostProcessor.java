@@ -0,0 +1,34 @@
+package com.example.languagelearning.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps DataSource beans in {@link QueryCountingDataSource}. Reads the flag straight from the
+ * Environment - post-processors are created before {@link MonitoringProperties} can be bound.
+ */
+@Slf4j
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = environment.getProperty("monitoring.query-count.enabled", Boolean.class, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            log.info("Counting JDBC statements on DataSource '{}'", beanName);
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.languagelearning.config;
+
+/**
+ * Marks the current thread as allowed to read from a replica - set by {@link ReplicaReadInterceptor}
+ * for GET requests outside the stickiness window. Everything else (writes, requests right after
+ * a write, background jobs such as the near-duplicate index rebuild) reads from the primary.
+ * <p>
+ * A read may also require a WAL position: then only a replica that has already replayed it serves
+ * the read ({@link ReplicaRoutingDataSource}), any other sends it to the primary.
+ */
+public final class ReplicaReadContext {
+
+    /**
+     * No WAL position required - any replica will do.
+     */
+    public static final long ANY_POSITION = -1;
+
+    private static final ThreadLocal<Long> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReplicaReadContext() {
+    }
+
+    public static void allowReplicaReads() {
+        REPLICA_ALLOWED.set(ANY_POSITION);
+    }
+
+    /**
+     * Allows replica reads only from replicas that have replayed the primary's WAL up to {@code walPosition}.
+     */
+    public static void allowReplicaReadsFrom(long walPosition) {
+        REPLICA_ALLOWED.set(walPosition);
+    }
+
+    public static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get() != null;
+    }
+
+    public static long requiredWalPosition() {
+        Long walPosition = REPLICA_ALLOWED.get();
+        return walPosition != null ? walPosition : ANY_POSITION;
+    }
+
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+    }
+}
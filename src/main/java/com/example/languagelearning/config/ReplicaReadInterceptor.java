@@ -0,0 +1,94 @@
+package com.example.languagelearning.config;
+
+import com.example.languagelearning.service.VocabularyVersionService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Read-your-writes for the replica routing: a mutating request sets a cookie holding the end of
+ * the stickiness window, and GET requests carrying an unexpired one keep reading from the primary.
+ * Other GET requests may read from a replica ({@link ReplicaReadContext}) - {@link VocabularyETag}
+ * ones only from a replica that has caught up with their ETag, cached ones never.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaReadInterceptor implements HandlerInterceptor {
+
+    private final DataSourceRoutingProperties properties;
+    private final VocabularyVersionService vocabularyVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (isRead(request)) {
+            if (stickyUntil(request) <= now) {
+                allowReplicaReads(handler);
+            }
+        } else {
+            // Ustawiane przed zapisem - po wysłaniu odpowiedzi nagłówków nie da się już zmienić
+            Cookie cookie = new Cookie(properties.getStickinessCookie(),
+                    Long.toString(now + properties.getStickinessWindow().toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, properties.getStickinessWindow().toSeconds()));
+            response.addCookie(cookie);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaReadContext.clear();
+    }
+
+    /**
+     * A {@link VocabularyETag} handler answers under the version read by {@link VocabularyETagInterceptor}
+     * just before, bumped after the primary commit - so it reads only from a replica that has replayed
+     * the primary's WAL position recorded with that bump (read after the version, never older than it).
+     * Without a recorded position, and for handlers whose result is shared through the Redis
+     * {@code words} cache, the read stays on the primary: a lagging replica would otherwise tag or
+     * cache pre-write data as current for every client, not just the writer.
+     */
+    private void allowReplicaReads(Object handler) {
+        VocabularyETag tag = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(VocabularyETag.class) : null;
+        if (tag == null) {
+            ReplicaReadContext.allowReplicaReads();
+        } else if (!tag.cached()) {
+            long walPosition = vocabularyVersionService.walPosition();
+            if (walPosition != VocabularyVersionService.UNAVAILABLE) {
+                ReplicaReadContext.allowReplicaReadsFrom(walPosition);
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (properties.getStickinessCookie().equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
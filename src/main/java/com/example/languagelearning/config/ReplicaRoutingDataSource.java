@@ -0,0 +1,119 @@
+package com.example.languagelearning.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-only side of the read/write routing: hands out replica connections round-robin when
+ * {@link ReplicaReadContext} allows it, otherwise primary ones. A replica that cannot give a
+ * connection is skipped for the retry interval (so a dead replica costs one connection timeout,
+ * not one per request) and, if none can, the read goes to the primary.
+ * <p>
+ * A read that requires a WAL position ({@link ReplicaReadContext#allowReplicaReadsFrom}) first asks
+ * the replica how far it has replayed; a lagging one is passed over - without being skipped later,
+ * lag is momentary - and when all lag the read goes to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray unavailableUntil;
+    private final long retryIntervalMillis;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter fallbackReads;
+    private final Counter laggingReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    Duration retryInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.unavailableUntil = new AtomicLongArray(replicas.size());
+        this.retryIntervalMillis = retryInterval.toMillis();
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, "primary");
+        this.fallbackReads = readCounter(meterRegistry, "fallback");
+        this.laggingReads = readCounter(meterRegistry, "lagging");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || !ReplicaReadContext.isReplicaAllowed()) {
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+        long requiredWalPosition = ReplicaReadContext.requiredWalPosition();
+        boolean lagging = false;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (unavailableUntil.get(index) > System.currentTimeMillis()) {
+                continue;
+            }
+            Connection connection;
+            try {
+                connection = replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                unavailableUntil.set(index, System.currentTimeMillis() + retryIntervalMillis);
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}", index, retryIntervalMillis, e.getMessage());
+                continue;
+            }
+            if (requiredWalPosition == ReplicaReadContext.ANY_POSITION || hasReplayed(connection, requiredWalPosition)) {
+                replicaReads.increment();
+                return connection;
+            }
+            connection.close();
+            lagging = true;
+        }
+        (lagging ? laggingReads : fallbackReads).increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Explicit credentials go to the primary, as with {@code AbstractRoutingDataSource} - the replica
+     * pools are bound to the credentials they were configured with.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Checked before the transaction starts, in auto-commit. Replay only moves forward, so the
+     * transaction that follows sees at least this state.
+     */
+    private static boolean hasReplayed(Connection connection, long walPosition) {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_last_wal_replay_lsn()")) {
+            resultSet.next();
+            String replayed = resultSet.getString(1);
+            // NULL - serwer nie jest w trybie standby (np. replika wskazuje na primary), ma wszystkie zmiany
+            return replayed == null || PrimaryWalPosition.parse(replayed) >= walPosition;
+        } catch (SQLException e) {
+            log.warn("Could not read replica replay position, reading from the primary: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -2,52 +2,85 @@ package com.example.languagelearning.config;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request logging and the per-request DB budget. Latency percentiles per route template come from
+ * the actuator's {@code http.server.requests} timer (histogram enabled in application.yml).
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ResponseTimeInterceptor implements HandlerInterceptor {
 
     private static final String START_TIME_ATTRIBUTE = "startTime";
+    private static final String ENDPOINT_ATTRIBUTE = "endpoint";
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
     private final DatabasePerformanceInterceptor dbInterceptor;
+    private final MonitoringProperties properties;
+
+    public ResponseTimeInterceptor(DatabasePerformanceInterceptor dbInterceptor, MonitoringProperties properties) {
+        this.dbInterceptor = dbInterceptor;
+        this.properties = properties;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute(START_TIME_ATTRIBUTE, startTime);
-        
-        String endpoint = request.getMethod() + " " + request.getRequestURI() + 
-                (request.getQueryString() != null ? "?" + request.getQueryString() : "");
-        
-        log.info("🚀 REQUEST STARTED: {}", endpoint);
-        
+        request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+
+        if (properties.isRequestLogging()) {
+            String endpoint = getEndpoint(request);
+            request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+            log.info("🚀 REQUEST STARTED: {}", endpoint);
+        }
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
-        long endTime = System.currentTimeMillis();
-        long responseTime = endTime - startTime;
-        
-        String status = response.getStatus() >= 400 ? "ERROR" : "SUCCESS";
-        String endpoint = request.getMethod() + " " + request.getRequestURI() + 
-                (request.getQueryString() != null ? "?" + request.getQueryString() : "");
-        
-        // Logowanie z ostrzeżeniami dla wolnych zapytań
-        if (responseTime > 3000) { // > 3 sekundy
-            log.warn("SLOW ENDPOINT: {} - Status: {} - Time: {}ms ⚠️", endpoint, status, responseTime);
-        } else if (responseTime > 1000) { // > 1 sekunda
-            log.info("RESPONSE: {} - Status: {} - Time: {}ms 🐌", endpoint, status, responseTime);
-        } else {
-            log.info("RESPONSE: {} - Status: {} - Time: {}ms ✅", endpoint, status, responseTime);
+        Object startTime = request.getAttribute(START_TIME_ATTRIBUTE);
+        if (startTime == null) {
+            return;
         }
-        
-        // Zaloguj podsumowanie czasu DB dla tego endpointu
-        dbInterceptor.logTotalDbTime(request);
+        long elapsedNanos = System.nanoTime() - (Long) startTime;
+        String route = getRoute(request);
+        // Unhandled exceptions are turned into an error response only after this callback
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+        long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        boolean slow = responseTime > properties.getSlowRequestThresholdMs();
+        if (slow || properties.isRequestLogging()) {
+            // Zbudowany w preHandle, gdy logowanie requestów jest włączone
+            Object endpoint = request.getAttribute(ENDPOINT_ATTRIBUTE);
+            if (endpoint == null) {
+                endpoint = getEndpoint(request);
+            }
+            if (slow) {
+                log.warn("SLOW ENDPOINT: {} ({}) - Status: {} - Time: {}ms ⚠️", endpoint, route, status, responseTime);
+            } else {
+                log.info("RESPONSE: {} - Status: {} - Time: {}ms", endpoint, status, responseTime);
+            }
+        }
+
+        // Dolicz czas DB tego requestu do budżetu endpointu
+        dbInterceptor.completeRequest(request, route, elapsedNanos);
+    }
+
+    /**
+     * Returns the matched route template, e.g. {@code /api/words/{id}}.
+     */
+    public static String getRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+    }
+
+    private static String getEndpoint(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query != null ? "?" + query : "");
     }
 }
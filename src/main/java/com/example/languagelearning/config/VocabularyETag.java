@@ -0,0 +1,21 @@
+package com.example.languagelearning.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the vocabulary (and the request URL), so it
+ * can be answered with 304 Not Modified by {@link VocabularyETagInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VocabularyETag {
+
+    /**
+     * The handler's result goes through the shared Redis {@code words} cache - read from the primary
+     * only, so the cache is filled with committed state ({@link ReplicaReadInterceptor}).
+     */
+    boolean cached() default false;
+}
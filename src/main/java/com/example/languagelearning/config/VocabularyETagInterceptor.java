@@ -0,0 +1,52 @@
+package com.example.languagelearning.config;
+
+import com.example.languagelearning.service.VocabularyVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for {@link VocabularyETag} handlers: the ETag is the vocabulary version, read
+ * before the handler touches the database or the words cache. A matching {@code If-None-Match}
+ * ends the request with 304 right here. The version is read before the data, so a change racing
+ * the request can only make the ETag older than the body - the next poll then gets a 200.
+ */
+@Component
+public class VocabularyETagInterceptor implements HandlerInterceptor {
+
+    private final VocabularyVersionService vocabularyVersionService;
+    private final Counter notModifiedCounter;
+
+    public VocabularyETagInterceptor(VocabularyVersionService vocabularyVersionService, MeterRegistry meterRegistry) {
+        this.vocabularyVersionService = vocabularyVersionService;
+        this.notModifiedCounter = Counter.builder("http.conditional.not_modified")
+                .description("Word reads answered with 304 Not Modified")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !handlerMethod.hasMethodAnnotation(VocabularyETag.class)) {
+            return true;
+        }
+        long version = vocabularyVersionService.currentVersion();
+        if (version == VocabularyVersionService.UNAVAILABLE) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Ten sam ETag dla JSON, CBOR i Smile - cache musi rozróżniać odpowiedzi po Accept
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Słaby ETag - ta sama wersja niezależnie od kompresji i formatu odpowiedzi
+        if (new ServletWebRequest(request, response).checkNotModified("W/\"v" + version + "\"")) {
+            notModifiedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+}
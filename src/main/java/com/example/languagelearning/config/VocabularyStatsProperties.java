@@ -0,0 +1,19 @@
+package com.example.languagelearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "vocabulary-stats")
+public class VocabularyStatsProperties {
+
+    /**
+     * How often the in-memory word counters are recounted from the {@code words} table. Bounds how
+     * long writes of other instances, or a drifted counter, can go unnoticed.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+}
@@ -1,16 +1,21 @@
 package com.example.languagelearning.config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
     private final ResponseTimeInterceptor responseTimeInterceptor;
     private final DatabasePerformanceInterceptor databasePerformanceInterceptor;
+    private final QueryCountInterceptor queryCountInterceptor;
+    private final VocabularyETagInterceptor vocabularyETagInterceptor;
+    private final ReplicaReadInterceptor replicaReadInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -23,9 +28,26 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(databasePerformanceInterceptor)
                 .addPathPatterns("/", "/api/**")  // Dodaj root endpoint i API
                 .excludePathPatterns("/actuator/**"); // Wyłącz dla Actuator
-        
-        System.out.println("🔧 Interceptors registered successfully!");
-        System.out.println("   - ResponseTimeInterceptor: " + responseTimeInterceptor.getClass().getSimpleName());
-        System.out.println("   - DatabasePerformanceInterceptor: " + databasePerformanceInterceptor.getClass().getSimpleName());
+
+        // Interceptor do liczenia zapytań SQL i pobranych wierszy (wykrywanie N+1)
+        registry.addInterceptor(queryCountInterceptor)
+                .addPathPatterns("/", "/api/**")
+                .excludePathPatterns("/actuator/**");
+
+        // Warunkowy GET (ETag = wersja słownictwa) - tylko handlery z @VocabularyETag, po licznikach,
+        // żeby odpowiedzi 304 też były mierzone
+        registry.addInterceptor(vocabularyETagInterceptor)
+                .addPathPatterns("/api/words/**");
+
+        // Routing odczytów na repliki (datasource-routing) - cookie read-your-writes po zapisie
+        registry.addInterceptor(replicaReadInterceptor)
+                .addPathPatterns("/", "/api/**");
+
+        log.debug("Interceptors registered: {}, {}, {}, {}, {}",
+                responseTimeInterceptor.getClass().getSimpleName(),
+                databasePerformanceInterceptor.getClass().getSimpleName(),
+                queryCountInterceptor.getClass().getSimpleName(),
+                vocabularyETagInterceptor.getClass().getSimpleName(),
+                replicaReadInterceptor.getClass().getSimpleName());
     }
 }
@@ -0,0 +1,35 @@
+package com.example.languagelearning.controller;
+
+import com.example.languagelearning.config.DatabasePerformanceInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+public class MonitoringController {
+
+    private final DatabasePerformanceInterceptor dbInterceptor;
+
+    @GetMapping("/db-budget")
+    public ResponseEntity<Map<String, Object>> getDbBudget() {
+        List<Map<String, Object>> routes = dbInterceptor.getRouteDbBudgets();
+        return ResponseEntity.ok(Map.of(
+                "enabled", dbInterceptor.isEnabled(),
+                "routes", routes
+        ));
+    }
+
+    @DeleteMapping("/db-budget")
+    public ResponseEntity<Map<String, String>> resetDbBudget() {
+        log.info("Resetting DB budget statistics");
+        dbInterceptor.resetRouteDbBudgets();
+        return ResponseEntity.ok(Map.of("message", "DB budget statistics reset"));
+    }
+}
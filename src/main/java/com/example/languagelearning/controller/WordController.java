@@ -1,19 +1,42 @@
 package com.example.languagelearning.controller;
 
+import com.example.languagelearning.config.VocabularyETag;
+import com.example.languagelearning.dto.CsvEncoding;
+import com.example.languagelearning.dto.ExportCompression;
 import com.example.languagelearning.dto.GrammarPracticeResponse;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.dto.NearDuplicateGroup;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.PracticeAnswer;
+import com.example.languagelearning.dto.PracticeSessionResult;
+import com.example.languagelearning.dto.StreamImportSummary;
 import com.example.languagelearning.dto.TranslationCheckResponse;
+import com.example.languagelearning.dto.VocabularyStats;
+import com.example.languagelearning.dto.WordAttemptStats;
+import com.example.languagelearning.dto.WordView;
 import com.example.languagelearning.model.Word;
+import com.example.languagelearning.service.NdjsonImportService;
+import com.example.languagelearning.service.VocabularyStatsService;
 import com.example.languagelearning.service.WordService;
+import com.example.languagelearning.service.WordStreamingService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.Objects.requireNonNullElseGet;
@@ -27,13 +50,60 @@ import org.springframework.data.domain.Sort;
 @RequestMapping("/api/words")
 @RequiredArgsConstructor
 public class WordController {
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final WordService wordService;
+    private final NdjsonImportService ndjsonImportService;
+    private final WordStreamingService wordStreamingService;
+    private final VocabularyStatsService vocabularyStatsService;
 
+    /**
+     * @param view {@code full} (default) or {@code summary} - without exampleUsage and explanation
+     */
+    @VocabularyETag(cached = true)
     @GetMapping
-    public ResponseEntity<List<Word>> getAllWords() {
+    public ResponseEntity<List<?>> getAllWords(@RequestParam(required = false) String view) {
+        if (WordView.fromParam(view) == WordView.SUMMARY) {
+            return ResponseEntity.ok(wordService.getAllWordSummaries());
+        }
         return ResponseEntity.ok(wordService.getAllWords());
     }
 
+    /**
+     * Same JSON array as {@link #getAllWords(String)}, written row by row from a database cursor instead
+     * of a cached, fully materialized list - for large vocabularies.
+     */
+    @VocabularyETag
+    @GetMapping(params = "stream=true")
+    public void streamAllWords(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            wordStreamingService.writeAllWords(response.getOutputStream());
+        } catch (Exception e) {
+            log.error("Error streaming words", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Delta sync for clients keeping a local copy: words inserted or updated and ids deleted since
+     * the token returned by the previous call. Without {@code since} the response is a full resync.
+     */
+    @VocabularyETag
+    @GetMapping("/changes")
+    public void getChanges(@RequestParam(defaultValue = "0") long since, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            wordStreamingService.writeChangesSince(since, response.getOutputStream());
+        } catch (Exception e) {
+            log.error("Error streaming changes since {}", since, e);
+            throw e;
+        }
+    }
+
     @GetMapping("/")
     public ResponseEntity<Object> getWordsRedirect() {
         return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
@@ -41,13 +111,15 @@ public class WordController {
                 .build();
     }
 
+    @VocabularyETag
     @GetMapping("/paginated")
     public ResponseEntity<Object> getWordsPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String view) {
         
         // Walidacja parametrów
         if (page < 0) {
@@ -74,11 +146,15 @@ public class WordController {
             Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (WordView.fromParam(view) == WordView.SUMMARY) {
+            return ResponseEntity.ok(wordService.getWordSummariesPaginated(pageable, search));
+        }
         Page<Word> words = wordService.getWordsPaginated(pageable, search);
         
         return ResponseEntity.ok(words);
     }
 
+    @VocabularyETag(cached = true)
     @GetMapping("/{id}")
     public ResponseEntity<Word> getWord(@PathVariable Long id) {
         return ResponseEntity.ok(wordService.getWord(id));
@@ -89,6 +165,9 @@ public class WordController {
         try {
             Word createdWord = wordService.createWord(word);
             return ResponseEntity.ok(createdWord);
+        } catch (WordService.DuplicateWordException e) {
+            // 409 z handleDuplicateWord - zalogowane w serwisie
+            throw e;
         } catch (Exception e) {
             log.error("Error creating word: {}", word, e);
             throw e;
@@ -124,24 +203,127 @@ public class WordController {
         return ResponseEntity.ok(wordService.checkTranslation(id, translation));
     }
 
-    @GetMapping(value = "/export", produces = "text/csv;charset=UTF-8")
-    public ResponseEntity<byte[]> exportToCsv() {
-        byte[] csvContent = wordService.exportToCsv();
-        return ResponseEntity.ok()
-                .header("Content-Type", "text/csv;charset=UTF-8")
-                .header("Content-Disposition", "attachment; filename=\"vocabulary.csv\"")
-                .body(csvContent);
+    /**
+     * Word counts per language and proficiency level, from in-memory counters. Not tagged with the
+     * vocabulary ETag - the counters follow a change shortly after its commit, not with it.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<VocabularyStats> getStats() {
+        return ResponseEntity.ok(vocabularyStatsService.getStats());
+    }
+
+    /**
+     * Accuracy and streaks over the word's last 64 answers, computed from its attempt bitset.
+     */
+    @VocabularyETag
+    @GetMapping("/{id}/attempts")
+    public ResponseEntity<WordAttemptStats> getAttemptStats(@PathVariable Long id) {
+        return ResponseEntity.ok(wordService.getAttemptStats(id));
+    }
+
+    /**
+     * A whole practice round in one request instead of a {@code /random} call per word: up to
+     * {@code size} distinct words, weighted towards low proficiency.
+     */
+    @GetMapping("/session")
+    public ResponseEntity<Object> getPracticeSession(
+            @RequestParam(required = false) String language,
+            @RequestParam(defaultValue = "10") int size) {
+        if (size <= 0 || size > WordService.MAX_PRACTICE_SESSION_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Session size must be between 1 and " + WordService.MAX_PRACTICE_SESSION_SIZE,
+                    "size", size));
+        }
+        return ResponseEntity.ok(wordService.getPracticeSession(language, size));
+    }
+
+    /**
+     * The spaced-repetition queue: words whose next review is due, most overdue first
+     * ({@code limit=1} is the next card). Not tagged with the vocabulary ETag - the queue changes
+     * with time alone.
+     */
+    @GetMapping("/due")
+    public ResponseEntity<Object> getDueWords(
+            @RequestParam(required = false) String language,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit <= 0 || limit > WordService.MAX_PRACTICE_SESSION_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Limit must be between 1 and " + WordService.MAX_PRACTICE_SESSION_SIZE,
+                    "limit", limit));
+        }
+        return ResponseEntity.ok(wordService.getDueWords(language, limit));
     }
 
+    @GetMapping("/due/count")
+    public ResponseEntity<Map<String, Object>> countDueWords(@RequestParam(required = false) String language) {
+        return ResponseEntity.ok(Map.of("due", wordService.countDueWords(language)));
+    }
+
+    /**
+     * The answers of a practice round, graded together in one transaction - replaces a
+     * {@code /{id}/check} call per word.
+     */
+    @PostMapping("/session/answers")
+    public ResponseEntity<Object> submitPracticeAnswers(@RequestBody List<PracticeAnswer> answers) {
+        if (answers.isEmpty() || answers.size() > WordService.MAX_PRACTICE_SESSION_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Between 1 and " + WordService.MAX_PRACTICE_SESSION_SIZE + " answers are required",
+                    "answers", answers.size()));
+        }
+        PracticeSessionResult result = wordService.submitPracticeAnswers(answers);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Streams the CSV export straight into the response (and through gzip when asked to).
+     *
+     * @param encoding    {@code utf-8} (default) or {@code utf-16le} - both with a BOM
+     * @param compression {@code none} (default) or {@code gzip} - a {@code vocabulary.csv.gz} download
+     */
+    @VocabularyETag
+    @GetMapping("/export")
+    public void exportToCsv(@RequestParam(required = false) String encoding,
+                            @RequestParam(required = false) String compression,
+                            HttpServletResponse response) throws IOException {
+        CsvEncoding csvEncoding = CsvEncoding.fromParam(encoding);
+        boolean gzip = ExportCompression.fromParam(compression) == ExportCompression.GZIP;
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vocabulary.csv.gz\"");
+        } else {
+            response.setContentType("text/csv;charset=" + csvEncoding.charset().name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vocabulary.csv\"");
+        }
+        try {
+            if (gzip) {
+                GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+                wordService.exportToCsv(out, csvEncoding);
+                out.finish();
+            } else {
+                wordService.exportToCsv(response.getOutputStream(), csvEncoding);
+            }
+        } catch (Exception e) {
+            log.error("Error exporting words to CSV", e);
+            throw e;
+        }
+    }
+
+    /**
+     * @param mode           {@code upsert} (default) updates content of words already present,
+     *                       {@code insert} only adds new ones - re-importing the same file never duplicates rows
+     * @param nearDuplicates {@code ignore} (default), {@code report} or {@code skip} words similar to existing ones
+     */
     @PostMapping("/import")
-    public ResponseEntity<Void> importFromCsv(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ImportSummary> importFromCsv(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(required = false) String mode,
+                                                       @RequestParam(required = false) String nearDuplicates) {
         try {
             if (!requireNonNull(file.getOriginalFilename()).toLowerCase().endsWith(".csv")) {
                 throw new IllegalArgumentException("Only CSV files are supported");
             }
 
-            wordService.importFromCsv(file);
-            return ResponseEntity.ok().build();
+            return ResponseEntity.ok(wordService.importFromCsv(file, ImportMode.fromParam(mode),
+                    NearDuplicatePolicy.fromParam(nearDuplicates)));
         } catch (Exception e) {
             log.error("Error importing words from CSV", e);
             throw e;
@@ -149,34 +331,65 @@ public class WordController {
     }
 
     @PostMapping("/import/csv")
-    public ResponseEntity<Void> importFromCsvAlias(@RequestParam("file") MultipartFile file) {
-        return importFromCsv(file);
+    public ResponseEntity<ImportSummary> importFromCsvAlias(@RequestParam("file") MultipartFile file,
+                                                            @RequestParam(required = false) String mode,
+                                                            @RequestParam(required = false) String nearDuplicates) {
+        return importFromCsv(file, mode, nearDuplicates);
     }
 
+    /**
+     * Returns the import counts only - echoing the imported words back would double the memory
+     * held for the request and the size of the response.
+     */
     @PostMapping("/bulk")
-    public ResponseEntity<Map<String, Object>> bulkImport(@RequestBody List<Word> words) {
+    public ResponseEntity<ImportSummary> bulkImport(@RequestBody List<Word> words,
+                                                    @RequestParam(required = false) String mode,
+                                                    @RequestParam(required = false) String nearDuplicates) {
         try {
-            List<Word> importedWords = wordService.bulkImport(words);
-            return ResponseEntity.ok(Map.of(
-                    "message", "Successfully imported " + importedWords.size() + " words",
-                    "importedCount", importedWords.size(),
-                    "words", importedWords
-            ));
+            return ResponseEntity.ok(wordService.bulkImport(words, ImportMode.fromParam(mode),
+                    NearDuplicatePolicy.fromParam(nearDuplicates)));
         } catch (Exception e) {
             log.error("Error bulk importing words", e);
             throw e;
         }
     }
 
+    /**
+     * Streamed variant of {@code /bulk} for large imports: one JSON word per line, persisted in
+     * batches while the body is read. Returns counts, failed line numbers and timing - not the words.
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamImportSummary> bulkImportNdjson(InputStream body,
+                                                                @RequestParam(required = false) String mode,
+                                                                @RequestParam(required = false) String nearDuplicates)
+            throws IOException {
+        try {
+            return ResponseEntity.ok(ndjsonImportService.importNdjson(body, ImportMode.fromParam(mode),
+                    NearDuplicatePolicy.fromParam(nearDuplicates)));
+        } catch (Exception e) {
+            log.error("Error streaming NDJSON import", e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/near-duplicates")
+    public ResponseEntity<Map<String, Object>> getNearDuplicates(@RequestParam(required = false) String language) {
+        List<NearDuplicateGroup> groups = wordService.getNearDuplicateReport(language);
+        return ResponseEntity.ok(Map.of(
+                "groupCount", groups.size(),
+                "groups", groups
+        ));
+    }
+
     @DeleteMapping("/bulk")
     public ResponseEntity<Map<String, Object>> bulkDelete(@RequestBody List<Long> wordIds) {
         try {
-            log.info("Bulk delete request received with {} wordIds: {}", wordIds.size(), wordIds);
-            int deletedCount = wordService.bulkDelete(wordIds);
-            log.info("Successfully deleted {} words", deletedCount);
+            log.info("Bulk delete request received with {} wordIds", wordIds.size());
+            List<Long> deletedIds = wordService.bulkDelete(wordIds);
             return ResponseEntity.ok(Map.of(
-                    "message", "Successfully deleted " + deletedCount + " words",
-                    "deletedCount", deletedCount
+                    "message", "Successfully deleted " + deletedIds.size() + " words",
+                    "deletedCount", deletedIds.size(),
+                    "deletedIds", deletedIds
             ));
         } catch (Exception e) {
             log.error("Error bulk deleting words", e);
@@ -245,6 +458,9 @@ public class WordController {
         }
     }
 
-
+    @ExceptionHandler(WordService.DuplicateWordException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateWord(WordService.DuplicateWordException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
 
 } 
\ No newline at end of file
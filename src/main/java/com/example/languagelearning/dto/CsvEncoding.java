@@ -0,0 +1,46 @@
+package com.example.languagelearning.dto;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Character encoding of the CSV export ({@code ?encoding=}). Both variants start with a byte order
+ * mark, so Excel detects the encoding on double-click.
+ */
+public enum CsvEncoding {
+    /**
+     * Half the size of UTF-16 for mostly-ASCII vocabularies; read back by the CSV import.
+     */
+    UTF_8(StandardCharsets.UTF_8, new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}),
+    /**
+     * For older Excel versions that ignore the UTF-8 BOM.
+     */
+    UTF_16LE(StandardCharsets.UTF_16LE, new byte[]{(byte) 0xFF, (byte) 0xFE});
+
+    private final Charset charset;
+    private final byte[] bom;
+
+    CsvEncoding(Charset charset, byte[] bom) {
+        this.charset = charset;
+        this.bom = bom;
+    }
+
+    public Charset charset() {
+        return charset;
+    }
+
+    public byte[] bom() {
+        return bom.clone();
+    }
+
+    public static CsvEncoding fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return UTF_8;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown encoding: " + value + " (expected utf-8 or utf-16le)");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.languagelearning.dto;
+
+/**
+ * Compression of the CSV export download ({@code ?compression=}).
+ */
+public enum ExportCompression {
+    NONE,
+    /**
+     * A {@code .csv.gz} file, compressed while it is written.
+     */
+    GZIP;
+
+    public static ExportCompression fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown compression: " + value + " (expected none or gzip)");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.languagelearning.dto;
+
+/**
+ * How imported rows that already exist (same language, original word and translation) are handled.
+ */
+public enum ImportMode {
+    /**
+     * Only new words are inserted; existing rows are left untouched.
+     */
+    INSERT,
+    /**
+     * New words are inserted; existing rows get the imported example usage and explanation.
+     * Proficiency level is learner progress and is never overwritten by an import.
+     */
+    UPSERT;
+
+    public static ImportMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return UPSERT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown import mode: " + value + " (expected insert or upsert)");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.languagelearning.dto;
+
+import com.example.languagelearning.model.Word;
+
+import java.util.List;
+
+/**
+ * Import counts plus the rows that were inserted or updated (empty when the caller did not ask for them).
+ */
+public record ImportResult(
+    ImportSummary summary,
+    List<Word> affectedWords
+) {}
@@ -0,0 +1,44 @@
+package com.example.languagelearning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of an import: {@code unchanged} are existing rows the import matched but did not
+ * modify, {@code duplicates} are repeated rows within the imported data itself. Near-duplicate
+ * fields are present only when the import asked for them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportSummary(
+    long received,
+    long inserted,
+    long updated,
+    long unchanged,
+    long rejected,
+    long duplicates,
+    Long skippedNearDuplicates,
+    Long nearDuplicateCount,
+    List<NearDuplicateHit> nearDuplicates
+) {
+    public ImportSummary(long received, long inserted, long updated, long unchanged, long rejected, long duplicates) {
+        this(received, inserted, updated, unchanged, rejected, duplicates, null, null, null);
+    }
+
+    public ImportSummary withNearDuplicates(long received, long skipped, long count, List<NearDuplicateHit> hits) {
+        return new ImportSummary(received, inserted, updated, unchanged, rejected, duplicates, skipped, count, hits);
+    }
+
+    /**
+     * Logged after every import - the near-duplicate hits themselves are left out.
+     */
+    @Override
+    public String toString() {
+        return "ImportSummary[received=" + received + ", inserted=" + inserted + ", updated=" + updated
+                + ", unchanged=" + unchanged + ", rejected=" + rejected + ", duplicates=" + duplicates
+                + (nearDuplicateCount != null
+                        ? ", nearDuplicates=" + nearDuplicateCount + ", skippedNearDuplicates=" + skippedNearDuplicates
+                        : "")
+                + "]";
+    }
+}
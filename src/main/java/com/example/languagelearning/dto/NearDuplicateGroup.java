@@ -0,0 +1,12 @@
+package com.example.languagelearning.dto;
+
+import java.util.List;
+
+/**
+ * Words of one language that are near-duplicates of each other; similarity is measured against
+ * the first (lowest id) word of the group.
+ */
+public record NearDuplicateGroup(
+    String language,
+    List<NearDuplicateMatch> words
+) {}
@@ -0,0 +1,10 @@
+package com.example.languagelearning.dto;
+
+import java.util.List;
+
+public record NearDuplicateHit(
+    String language,
+    String originalWord,
+    String translation,
+    List<NearDuplicateMatch> matches
+) {}
@@ -0,0 +1,12 @@
+package com.example.languagelearning.dto;
+
+/**
+ * An indexed word similar to the one being checked; {@code id} is null for a match within the
+ * same import.
+ */
+public record NearDuplicateMatch(
+    Long id,
+    String originalWord,
+    String translation,
+    double similarity
+) {}
@@ -0,0 +1,28 @@
+package com.example.languagelearning.dto;
+
+/**
+ * What an import does with words that look like near-duplicates of existing ones
+ * (e.g. "Mam dość" vs "Mam dosc"). Exact natural-key matches are handled by {@link ImportMode}.
+ */
+public enum NearDuplicatePolicy {
+    IGNORE,
+    /**
+     * Import everything, list the near-duplicates in the summary.
+     */
+    REPORT,
+    /**
+     * Leave near-duplicates out of the import and list them in the summary.
+     */
+    SKIP;
+
+    public static NearDuplicatePolicy fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return IGNORE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown near-duplicate policy: " + value + " (expected ignore, report or skip)");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.languagelearning.dto;
+
+/**
+ * One answer of a practice session batch - the same input as {@code POST /api/words/{id}/check}.
+ */
+public record PracticeAnswer(
+    Long wordId,
+    String translation
+) {}
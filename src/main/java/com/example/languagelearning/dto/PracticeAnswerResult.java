@@ -0,0 +1,21 @@
+package com.example.languagelearning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Grading of one answer: the fields of {@link TranslationCheckResponse} plus the word's level and
+ * next review after the answer ({@code null}, like the other word fields, when the word does not exist).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PracticeAnswerResult(
+    Long wordId,
+    boolean correct,
+    String correctTranslation,
+    String exampleUsage,
+    String explanation,
+    String message,
+    Integer proficiencyLevel,
+    Instant nextReviewAt
+) {}
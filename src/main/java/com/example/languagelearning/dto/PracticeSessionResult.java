@@ -0,0 +1,14 @@
+package com.example.languagelearning.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch of answers, in the order they were submitted. {@code updated} is the number
+ * of words whose proficiency level changed.
+ */
+public record PracticeSessionResult(
+    int answered,
+    int correct,
+    int updated,
+    List<PracticeAnswerResult> results
+) {}
@@ -0,0 +1,26 @@
+package com.example.languagelearning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of a streamed NDJSON import: counts over all batches, the (1-based) numbers of lines
+ * that could not be parsed or failed validation, and timing. Near-duplicate counts are present
+ * only when the import asked for them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StreamImportSummary(
+    long lines,
+    long inserted,
+    long updated,
+    long unchanged,
+    long duplicates,
+    Long skippedNearDuplicates,
+    Long nearDuplicateCount,
+    long failedLineCount,
+    List<Long> failedLines,
+    int batches,
+    long elapsedMs,
+    long rowsPerSecond
+) {}
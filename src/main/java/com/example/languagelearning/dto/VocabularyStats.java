@@ -0,0 +1,16 @@
+package com.example.languagelearning.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Word counts of the whole vocabulary, per language and per proficiency level (levels 1-5, empty
+ * ones as 0). {@code reconciledAt} is the last recount from the database, {@code null} before the first.
+ */
+public record VocabularyStats(
+    long totalWords,
+    Map<String, LanguageStats> languages,
+    Instant reconciledAt
+) {
+    public record LanguageStats(long totalWords, Map<Integer, Long> byLevel) {}
+}
@@ -0,0 +1,29 @@
+package com.example.languagelearning.dto;
+
+import com.example.languagelearning.model.AttemptHistory;
+
+/**
+ * Answer statistics of one word, derived from its {@link AttemptHistory} without reading any other
+ * rows. {@code recentHistory} lists the recent answers newest first ({@code 1} = correct).
+ */
+public record WordAttemptStats(
+    Long wordId,
+    int attempts,
+    int correct,
+    int recentAttempts,
+    int recentCorrect,
+    Double recentAccuracy,
+    int correctStreak,
+    int incorrectStreak,
+    String recentHistory
+) {
+    public static WordAttemptStats of(Long wordId, AttemptHistory history) {
+        StringBuilder recent = new StringBuilder(history.recentAttempts());
+        for (int bit = 0; bit < history.recentAttempts(); bit++) {
+            recent.append((history.bits() >>> bit & 1L) == 1L ? '1' : '0');
+        }
+        return new WordAttemptStats(wordId, history.attempts(), history.correct(), history.recentAttempts(),
+                history.recentCorrect(), history.recentAccuracy(), history.correctStreak(),
+                history.incorrectStreak(), recent.toString());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.languagelearning.dto;
+
+/**
+ * List view of a word without the TEXT columns ({@code exampleUsage}, {@code explanation}) -
+ * full details are fetched per id.
+ */
+public record WordSummary(
+    Long id,
+    String originalWord,
+    String translation,
+    String language,
+    Integer proficiencyLevel
+) {}
@@ -0,0 +1,23 @@
+package com.example.languagelearning.dto;
+
+/**
+ * Shape of the words returned by the list endpoints ({@code ?view=}).
+ */
+public enum WordView {
+    FULL,
+    /**
+     * {@link WordSummary} - word, translation, language and level only.
+     */
+    SUMMARY;
+
+    public static WordView fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown view: " + value + " (expected full or summary)");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.languagelearning.model;
+
+/**
+ * Answers given to one word (migration V8): the last {@value #CAPACITY} as a bitset - bit 0 is the
+ * latest answer, 1 means correct - plus lifetime counters. The same shape describes a batch of new
+ * answers, so {@link #append} both records one answer and folds a whole practice round into the
+ * stored value; {@code WordBulkOperations} does the same with bit operations in SQL.
+ */
+public record AttemptHistory(long bits, int attempts, int correct) {
+
+    public static final int CAPACITY = Long.SIZE;
+    public static final AttemptHistory EMPTY = new AttemptHistory(0L, 0, 0);
+
+    public static AttemptHistory of(Word word) {
+        return new AttemptHistory(word.getAttemptHistory(), word.getAttemptCount(), word.getCorrectCount());
+    }
+
+    public void applyTo(Word word) {
+        word.setAttemptHistory(bits);
+        word.setAttemptCount(attempts);
+        word.setCorrectCount(correct);
+    }
+
+    public AttemptHistory record(boolean isCorrect) {
+        return append(new AttemptHistory(isCorrect ? 1L : 0L, 1, isCorrect ? 1 : 0));
+    }
+
+    /**
+     * This history followed by {@code later}: its bits are shifted in at the low end and the oldest
+     * fall off. Java masks shift distances to six bits, hence the explicit full-window case.
+     */
+    public AttemptHistory append(AttemptHistory later) {
+        long kept = later.attempts >= CAPACITY ? 0L : bits << later.attempts;
+        return new AttemptHistory(kept | later.bits, attempts + later.attempts, correct + later.correct);
+    }
+
+    public int recentAttempts() {
+        return Math.min(attempts, CAPACITY);
+    }
+
+    public int recentCorrect() {
+        return Long.bitCount(bits);
+    }
+
+    /**
+     * Share of correct answers among the recent ones, {@code null} before the first answer.
+     */
+    public Double recentAccuracy() {
+        return attempts == 0 ? null : (double) recentCorrect() / recentAttempts();
+    }
+
+    public int correctStreak() {
+        return Math.min(Long.numberOfTrailingZeros(~bits), recentAttempts());
+    }
+
+    public int incorrectStreak() {
+        return Math.min(Long.numberOfTrailingZeros(bits), recentAttempts());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.languagelearning.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Dictionary of language codes (migration V9): {@code words.language_id} stores the smallint key,
+ * while {@link Word#getLanguage()} keeps exposing the code. Rows are added through
+ * {@link LanguageDictionary}, never through this entity.
+ */
+@Data
+@Entity
+@Table(name = "languages")
+public class Language {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(nullable = false, unique = true)
+    private String code;
+}
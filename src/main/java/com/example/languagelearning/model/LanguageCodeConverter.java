@@ -0,0 +1,36 @@
+package com.example.languagelearning.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps {@code Word.language} (a code in the API and in JPQL parameters) to the smallint
+ * {@code words.language_id} of migration V9. Hibernate obtains the converter from the Spring
+ * context, so lookups go through the in-memory {@link LanguageDictionary}. Unregistered codes
+ * become {@link LanguageDictionary#UNKNOWN}: queries find nothing and inserts fail on the foreign
+ * key - writers register the codes first.
+ */
+@Component
+@Converter
+public class LanguageCodeConverter implements AttributeConverter<String, Short> {
+
+    private final LanguageDictionary languageDictionary;
+
+    // Leniwie - konwerter powstaje w trakcie budowy EntityManagerFactory, od której zależą JdbcTemplate
+    // i menedżer transakcji słownika
+    public LanguageCodeConverter(@Lazy LanguageDictionary languageDictionary) {
+        this.languageDictionary = languageDictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String code) {
+        return code != null ? languageDictionary.idOf(code) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id != null ? languageDictionary.codeOf(id) : null;
+    }
+}
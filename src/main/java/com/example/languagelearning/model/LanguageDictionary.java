@@ -0,0 +1,120 @@
+package com.example.languagelearning.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Two-way mapping between language codes and the smallint keys of the {@code languages} table
+ * (migration V9), held in memory. The table has a handful of rows and only grows, so it is read
+ * whole and re-read on a miss. Codes are added only by {@link #register}, each in a transaction of
+ * its own: a key in the maps always belongs to a committed row, whatever happens to the caller's
+ * transaction. Every word read through the dictionary shares one code string per language.
+ * <p>
+ * Lives next to the entities rather than in {@code repository}: lookups run once per converted row
+ * and hit the database only on a miss, so they are not DB operations for the timing aspect.
+ */
+@Slf4j
+@Component
+public class LanguageDictionary {
+
+    /**
+     * Key of a code that is not in the dictionary - no word has it, so queries for it find nothing.
+     */
+    public static final short UNKNOWN = 0;
+
+    private static final String SELECT_ALL_SQL = "SELECT id, code FROM languages";
+    private static final String INSERT_SQL =
+            "INSERT INTO languages (code) SELECT ? WHERE NOT EXISTS (SELECT 1 FROM languages WHERE code = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private volatile Map<String, Short> ids = Map.of();
+    private volatile Map<Short, String> codes = Map.of();
+
+    public LanguageDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Key of the code, or {@link #UNKNOWN} when the code was never registered.
+     */
+    public short idOf(String code) {
+        Short id = ids.get(code);
+        if (id == null) {
+            reload();
+            id = ids.get(code);
+        }
+        return id != null ? id : UNKNOWN;
+    }
+
+    public String codeOf(short id) {
+        String code = codes.get(id);
+        if (code == null) {
+            reload();
+            code = codes.get(id);
+        }
+        if (code == null) {
+            throw new IllegalStateException("Unknown language id: " + id);
+        }
+        return code;
+    }
+
+    /**
+     * Adds the codes missing from the dictionary (blank codes are skipped - validation rejects such
+     * words). Called before words are written: a code added here stays even if the write is rolled
+     * back, which is harmless for a dictionary.
+     */
+    public void register(Collection<String> languageCodes) {
+        List<String> missing = missing(languageCodes);
+        if (missing.isEmpty()) {
+            return;
+        }
+        // Kod mógł dodać inny węzeł - najpierw odświeżenie, INSERT tylko dla faktycznie nowych
+        reload();
+        for (String code : missing(missing)) {
+            try {
+                newTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, code, code));
+            } catch (DuplicateKeyException e) {
+                // Ten sam kod dodany równolegle - wiersz już jest
+                log.debug("Language {} registered concurrently", code);
+            }
+        }
+        reload();
+    }
+
+    private List<String> missing(Collection<String> languageCodes) {
+        Map<String, Short> known = ids;
+        return languageCodes.stream()
+                .filter(code -> code != null && !code.isBlank() && !known.containsKey(code))
+                .distinct()
+                .toList();
+    }
+
+    private synchronized void reload() {
+        Map<String, Short> freshIds = new HashMap<>();
+        Map<Short, String> freshCodes = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> {
+            short id = rs.getShort("id");
+            // Ten sam obiekt String co w dotychczasowej mapie - słowa w pamięci dzielą jedną instancję
+            String code = Objects.requireNonNullElse(codes.get(id), rs.getString("code"));
+            freshIds.put(code, id);
+            freshCodes.put(id, code);
+        });
+        ids = freshIds;
+        codes = freshCodes;
+    }
+}
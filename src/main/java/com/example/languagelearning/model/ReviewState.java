@@ -0,0 +1,28 @@
+package com.example.languagelearning.model;
+
+import java.time.Instant;
+
+/**
+ * Learning state of one word: its proficiency level and SM-2 schedule (migration V7). Immutable, so
+ * a batch of answers can be graded without touching managed entities.
+ */
+public record ReviewState(
+    int proficiencyLevel,
+    double easeFactor,
+    int intervalDays,
+    int repetitions,
+    Instant nextReviewAt
+) {
+    public static ReviewState of(Word word) {
+        return new ReviewState(word.getProficiencyLevel(), word.getEaseFactor(), word.getReviewIntervalDays(),
+                word.getRepetitions(), word.getNextReviewAt());
+    }
+
+    public void applyTo(Word word) {
+        word.setProficiencyLevel(proficiencyLevel);
+        word.setEaseFactor(easeFactor);
+        word.setReviewIntervalDays(intervalDays);
+        word.setRepetitions(repetitions);
+        word.setNextReviewAt(nextReviewAt);
+    }
+}
@@ -1,17 +1,26 @@
 package com.example.languagelearning.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Data
 @Entity
 @Table(name = "words")
 public class Word {
+    // Sekwencja zamiast IDENTITY - inaczej Hibernate wyłącza batchowanie INSERT-ów.
+    // allocationSize musi być równy INCREMENT BY sekwencji (migracja V2)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "words_id_seq")
+    @SequenceGenerator(name = "words_id_seq", sequenceName = "words_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Original word cannot be empty")
@@ -22,8 +31,10 @@ public class Word {
     @Column(nullable = false)
     private String translation;
 
+    // Kod języka w API, w bazie klucz smallint ze słownika languages (migracja V9)
     @NotBlank(message = "Language cannot be empty")
-    @Column(nullable = false)
+    @Column(name = "language_id", nullable = false)
+    @Convert(converter = LanguageCodeConverter.class)
     private String language;
 
     @Min(value = 1, message = "Proficiency level must be at least 1")
@@ -36,4 +47,37 @@ public class Word {
 
     @Column(columnDefinition = "TEXT")
     private String explanation;
+
+    // Harmonogram powtórek SM-2 (migracja V7) - ustawiany przez SpacedRepetitionScheduler; wartości z żądań
+    // są nadpisywane przy każdym wstawieniu (WordService), a nie ignorowane przez Jacksona - cache Redis
+    // odczytuje słowa tym samym mechanizmem i zgubiłby te pola
+    @Column(nullable = false)
+    private Double easeFactor = 2.5;
+
+    @Column(nullable = false)
+    private Integer reviewIntervalDays = 0;
+
+    @Column(nullable = false)
+    private Integer repetitions = 0;
+
+    @Column(nullable = false)
+    private Instant nextReviewAt = Instant.now();
+
+    // Ostatnie 64 odpowiedzi jako bity (bit 0 = najnowsza, 1 = poprawna) i liczniki (migracja V8) - AttemptHistory
+    @Column(nullable = false)
+    private Long attemptHistory = 0L;
+
+    @Column(nullable = false)
+    private Integer attemptCount = 0;
+
+    @Column(nullable = false)
+    private Integer correctCount = 0;
+
+    // Pozycja w kubełku losowania (migracja V6) - losowana na nowo przy każdej odpowiedzi; poza API
+    // i poza równością słów
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Column(nullable = false)
+    private Double randomKey = ThreadLocalRandom.current().nextDouble();
 } 
\ No newline at end of file
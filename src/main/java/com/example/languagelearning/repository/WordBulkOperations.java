@@ -0,0 +1,583 @@
+package com.example.languagelearning.repository;
+
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportResult;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.model.AttemptHistory;
+import com.example.languagelearning.model.LanguageDictionary;
+import com.example.languagelearning.model.ReviewState;
+import com.example.languagelearning.model.Word;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Set-based bulk load for large imports on PostgreSQL: rows are streamed with
+ * {@code COPY ... FROM STDIN} into a transaction-scoped staging table and merged into
+ * {@code words} with a single INSERT ... SELECT ... ON CONFLICT on the natural key
+ * (language, original_word, translation), bypassing the persistence context.
+ * <p>
+ * Callers check {@link #isCopySupported()} first and fall back to batched JPA inserts on other
+ * databases (H2 in tests). Requires the unique index from migration V3.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class WordBulkOperations {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int SCAN_FETCH_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 10_000;
+
+    private static final String DELETE_RETURNING_SQL = "DELETE FROM words WHERE id = ANY(?) RETURNING id";
+    private static final String SELECT_EXISTING_IDS_SQL = "SELECT id FROM words WHERE id = ANY(?)";
+    private static final String DELETE_SQL = "DELETE FROM words WHERE id = ANY(?)";
+
+    private static final String SYNC_TOKEN_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    private static final String WORD_COLUMNS =
+            "id, original_word, translation, language_id, proficiency_level, example_usage, explanation, "
+            + "ease_factor, review_interval_days, repetitions, next_review_at, attempt_history, attempt_count, correct_count";
+    private static final String CHANGED_WORDS_SQL = "SELECT " + WORD_COLUMNS + " FROM words WHERE change_version >= ?";
+    private static final String TOMBSTONES_SQL = "SELECT word_id FROM word_tombstones WHERE change_version >= ?";
+
+    private static final String LEVEL_COUNTS_SQL =
+            "SELECT language_id, proficiency_level, word_count FROM word_level_counts WHERE word_count > 0";
+    private static final String COUNT_LEVELS_SQL =
+            "SELECT language_id, proficiency_level, count(*) AS word_count FROM words GROUP BY language_id, proficiency_level";
+    /**
+     * Recount from {@code words} that repairs drifted counters without locking them. A single statement
+     * reads {@code words} and the counters from one snapshot; the concurrent writes that snapshot
+     * misses change both by the same amount, so the drift seen in it is still the drift now. It is
+     * added to the counters like a trigger delta - on the latest row versions, commuting with the
+     * trigger upserts - so writes never wait for the scan. Returns the actual counts.
+     */
+    private static final String RECONCILE_LEVEL_COUNTS_SQL = """
+            WITH actual AS (
+                SELECT language_id, proficiency_level, count(*) AS word_count FROM words
+                GROUP BY language_id, proficiency_level
+            ), drift AS (
+                SELECT coalesce(a.language_id, c.language_id) AS language_id,
+                       coalesce(a.proficiency_level, c.proficiency_level) AS proficiency_level,
+                       coalesce(a.word_count, 0) - coalesce(c.word_count, 0) AS delta
+                FROM actual a
+                FULL JOIN word_level_counts c
+                    ON c.language_id = a.language_id AND c.proficiency_level = a.proficiency_level
+            ), corrected AS (
+                INSERT INTO word_level_counts (language_id, proficiency_level, word_count)
+                SELECT language_id, proficiency_level, delta FROM drift
+                WHERE delta <> 0
+                ORDER BY language_id, proficiency_level
+                ON CONFLICT (language_id, proficiency_level)
+                    DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count
+            )
+            SELECT language_id, proficiency_level, word_count FROM actual""";
+    /**
+     * Only one instance repairs at a time: a second repair whose snapshot predates the first one's
+     * commit would add the same drift twice. Held until commit; instances that miss it only recount.
+     */
+    private static final String TRY_RECONCILE_LOCK_SQL =
+            "SELECT pg_try_advisory_xact_lock(hashtext('word_level_counts_reconcile'))";
+    /**
+     * First word at or after the key, else the first of the bucket (wrap-around); the second branch
+     * runs only when the first finds nothing. Both are single range lookups on the V6 index.
+     */
+    private static final String WORD_AT_RANDOM_KEY_SQL = """
+            (SELECT %1$s FROM words WHERE language_id = ? AND proficiency_level = ? AND random_key >= ?
+             ORDER BY random_key LIMIT 1)
+            UNION ALL
+            (SELECT %1$s FROM words WHERE language_id = ? AND proficiency_level = ?
+             ORDER BY random_key LIMIT 1)
+            LIMIT 1""".formatted(WORD_COLUMNS);
+    /**
+     * The lookup above for a whole array of keys in one statement, one row per key in key order.
+     */
+    private static final String WORDS_AT_RANDOM_KEYS_SQL = """
+            SELECT w.* FROM unnest(?::smallint[], ?::integer[], ?::float8[])
+                WITH ORDINALITY AS k(language_id, proficiency_level, random_key, ord)
+            CROSS JOIN LATERAL (
+                (SELECT %1$s FROM words
+                 WHERE language_id = k.language_id AND proficiency_level = k.proficiency_level AND random_key >= k.random_key
+                 ORDER BY random_key LIMIT 1)
+                UNION ALL
+                (SELECT %1$s FROM words
+                 WHERE language_id = k.language_id AND proficiency_level = k.proficiency_level
+                 ORDER BY random_key LIMIT 1)
+                LIMIT 1
+            ) w
+            ORDER BY k.ord""".formatted(WORD_COLUMNS);
+
+    // Termin jako milisekundy epoki - tablica timestamptz z JDBC zależałaby od strefy czasowej sesji.
+    // Odpowiedzi z paczki są dopisywane do historii w bazie (AttemptHistory.append): przesunięcie
+    // o liczbę odpowiedzi i OR; od 64 odpowiedzi paczka wypełnia całe okno (przesunięcie bigint o 64
+    // nie zeruje wartości). Nowy random_key przy każdej odpowiedzi - zob. findWordAtRandomKey
+    private static final String UPDATE_REVIEW_STATES_SQL = """
+            UPDATE words w SET proficiency_level = v.proficiency_level,
+                               ease_factor = v.ease_factor,
+                               review_interval_days = v.review_interval_days,
+                               repetitions = v.repetitions,
+                               next_review_at = to_timestamp(v.next_review_ms / 1000.0),
+                               attempt_history = CASE WHEN v.attempts >= 64 THEN v.attempt_bits
+                                                      ELSE (w.attempt_history << v.attempts) | v.attempt_bits END,
+                               attempt_count = w.attempt_count + v.attempts,
+                               correct_count = w.correct_count + v.correct,
+                               random_key = random()
+            FROM unnest(?::bigint[], ?::integer[], ?::float8[], ?::integer[], ?::integer[], ?::bigint[],
+                        ?::bigint[], ?::integer[], ?::integer[])
+                AS v(id, proficiency_level, ease_factor, review_interval_days, repetitions, next_review_ms,
+                     attempt_bits, attempts, correct)
+            WHERE w.id = v.id""";
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE words_staging (
+                row_no bigserial,
+                original_word text,
+                translation text,
+                language_id smallint,
+                proficiency_level integer,
+                example_usage text,
+                explanation text
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_SQL = """
+            COPY words_staging (original_word, translation, language_id, proficiency_level, example_usage, explanation)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String VALID_ROW_CONDITION = """
+            btrim(coalesce(s.original_word, '')) <> ''
+            AND btrim(coalesce(s.translation, '')) <> ''
+            AND s.language_id IS NOT NULL
+            AND s.proficiency_level BETWEEN 1 AND 5""";
+
+    private static final String STAGING_STATS_SQL = """
+            SELECT count(*) FILTER (WHERE NOT (%1$s)) AS rejected,
+                   count(*) FILTER (WHERE %1$s) AS valid,
+                   count(DISTINCT (s.language_id, s.original_word, s.translation)) FILTER (WHERE %1$s) AS distinct_valid
+            FROM words_staging s""".formatted(VALID_ROW_CONDITION);
+
+    /**
+     * Keeps the first occurrence of each (language, original_word, translation) in the data. Rows
+     * whose key already exists reuse its id; new rows get ids in blocks of the sequence increment -
+     * one nextval per block, the same pooled-lo scheme Hibernate uses for {@code Word.id} - so
+     * repeated syncs do not burn through the sequence. A key inserted concurrently is still resolved
+     * by the mode's ON CONFLICT clause; {@code xmax = 0} tells freshly inserted rows from updated ones.
+     */
+    private static final String MERGE_SQL = """
+            WITH candidates AS (
+                SELECT DISTINCT ON (s.language_id, s.original_word, s.translation)
+                       s.row_no, s.original_word, s.translation, s.language_id,
+                       s.proficiency_level, s.example_usage, s.explanation, w.id AS existing_id
+                FROM words_staging s
+                LEFT JOIN words w ON w.language_id = s.language_id
+                                 AND w.original_word = s.original_word
+                                 AND w.translation = s.translation
+                WHERE %s
+                ORDER BY s.language_id, s.original_word, s.translation, s.row_no
+            ),
+            numbered AS (
+                SELECT c.*,
+                       CASE WHEN c.existing_id IS NULL
+                            THEN row_number() OVER (PARTITION BY c.existing_id IS NULL ORDER BY c.row_no) - 1
+                       END AS idx
+                FROM candidates c
+            ),
+            block_size AS (
+                SELECT increment_by AS size FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = 'words_id_seq'
+            ),
+            blocks AS (
+                SELECT g - 1 AS block_no, nextval('words_id_seq') AS block_start
+                FROM generate_series(1, (SELECT ceil(count(idx) / (SELECT size FROM block_size)::numeric)::int FROM numbered)) g
+            ),
+            merged AS (
+                INSERT INTO words (id, original_word, translation, language_id, proficiency_level, example_usage, explanation)
+                SELECT coalesce(n.existing_id, b.block_start + mod(n.idx, bs.size)), n.original_word, n.translation,
+                       n.language_id, n.proficiency_level, n.example_usage, n.explanation
+                FROM numbered n
+                CROSS JOIN block_size bs
+                LEFT JOIN blocks b ON b.block_no = n.idx / bs.size
+                ORDER BY n.row_no
+                ON CONFLICT (language_id, original_word, translation) %%s
+                RETURNING id, original_word, translation, language_id, proficiency_level, example_usage, explanation,
+                          ease_factor, review_interval_days, repetitions, next_review_at,
+                          attempt_history, attempt_count, correct_count, (xmax = 0) AS inserted
+            )
+            """.formatted(VALID_ROW_CONDITION);
+
+    private static final String ON_CONFLICT_INSERT = "DO NOTHING";
+
+    /**
+     * Only content fields are synced; rows whose content is already identical are not rewritten.
+     */
+    private static final String ON_CONFLICT_UPSERT = """
+            DO UPDATE SET example_usage = EXCLUDED.example_usage,
+                          explanation = EXCLUDED.explanation
+            WHERE words.example_usage IS DISTINCT FROM EXCLUDED.example_usage
+               OR words.explanation IS DISTINCT FROM EXCLUDED.explanation""";
+
+    private static final String SELECT_MERGED_ROWS = "SELECT * FROM merged ORDER BY id";
+
+    private static final String SELECT_MERGED_COUNTS =
+            "SELECT count(*) FILTER (WHERE inserted) AS inserted, count(*) FILTER (WHERE NOT inserted) AS updated FROM merged";
+
+    private static final RowMapper<Long> ID_ROW_MAPPER = (rs, rowNum) -> rs.getLong(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LanguageDictionary languageDictionary;
+    private volatile Boolean copySupported;
+
+    /**
+     * Number of words in one (language, proficiency level) bucket, from the trigger-maintained
+     * counters of migration V6.
+     */
+    public record LevelCount(String language, int proficiencyLevel, long wordCount) {
+    }
+
+    /**
+     * A random position in one (language, proficiency level) bucket.
+     */
+    public record BucketKey(String language, int proficiencyLevel, double randomKey) {
+    }
+
+    /**
+     * True on PostgreSQL - also decides whether {@link #deleteByIds} can use {@code RETURNING}
+     * and whether {@link #forEachChangeSince} is available.
+     */
+    public boolean isCopySupported() {
+        Boolean supported = copySupported;
+        if (supported == null) {
+            supported = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> con.isWrapperFor(PGConnection.class));
+            copySupported = supported;
+        }
+        return Boolean.TRUE.equals(supported);
+    }
+
+    /**
+     * Streams the words through COPY into staging and merges them into {@code words}.
+     *
+     * @param returnAffected whether to read back the inserted and updated rows (with ids); skip for
+     *                       large imports whose caller only needs the counts
+     */
+    @Transactional
+    public ImportResult load(Collection<Word> words, ImportMode mode, boolean returnAffected) {
+        long start = System.nanoTime();
+        languageDictionary.register(words.stream().map(Word::getLanguage).toList());
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        long received = copyToStaging(words);
+        long[] stats = jdbcTemplate.queryForObject(STAGING_STATS_SQL, (rs, rowNum) ->
+                new long[]{rs.getLong("rejected"), rs.getLong("valid"), rs.getLong("distinct_valid")});
+        long rejected = stats[0];
+        long duplicates = stats[1] - stats[2];
+
+        String mergeSql = MERGE_SQL.formatted(mode == ImportMode.UPSERT ? ON_CONFLICT_UPSERT : ON_CONFLICT_INSERT);
+        List<Word> affectedWords = List.of();
+        long inserted;
+        long updated;
+        if (returnAffected) {
+            long[] counts = new long[2];
+            affectedWords = jdbcTemplate.query(mergeSql + SELECT_MERGED_ROWS, (rs, rowNum) -> {
+                counts[rs.getBoolean("inserted") ? 0 : 1]++;
+                return mapWord(rs, rowNum);
+            });
+            inserted = counts[0];
+            updated = counts[1];
+        } else {
+            long[] counts = jdbcTemplate.queryForObject(mergeSql + SELECT_MERGED_COUNTS, (rs, rowNum) ->
+                    new long[]{rs.getLong("inserted"), rs.getLong("updated")});
+            inserted = counts[0];
+            updated = counts[1];
+        }
+
+        ImportSummary summary = new ImportSummary(received, inserted, updated,
+                stats[2] - inserted - updated, rejected, duplicates);
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("COPY bulk load ({}): {} in {}ms ({} rows/s)", mode, summary, elapsedMs, received * 1000L / elapsedMs);
+        return new ImportResult(summary, affectedWords);
+    }
+
+    /**
+     * Deletes the words in chunks of {@value #DELETE_CHUNK_SIZE} ids, each bound as a single array
+     * parameter, so the statement text and plan are the same for any number of ids. Returns the ids
+     * that were actually deleted (unknown ids are ignored). On databases without
+     * {@code DELETE ... RETURNING} (H2 in tests) the ids are selected first, in the same transaction.
+     */
+    @Transactional
+    public List<Long> deleteByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<Long> deleted = new ArrayList<>(distinctIds.size());
+        boolean returningSupported = isCopySupported();
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            Long[] chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()))
+                    .toArray(Long[]::new);
+            if (returningSupported) {
+                deleted.addAll(jdbcTemplate.query(idArrayStatement(DELETE_RETURNING_SQL, chunk), ID_ROW_MAPPER));
+            } else {
+                deleted.addAll(jdbcTemplate.query(idArrayStatement(SELECT_EXISTING_IDS_SQL, chunk), ID_ROW_MAPPER));
+                jdbcTemplate.update(idArrayStatement(DELETE_SQL, chunk));
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Streams id and natural key of every word (other columns stay null) - used to build
+     * in-memory indexes without loading whole entities.
+     */
+    @Transactional(readOnly = true)
+    public void forEachWordKey(Consumer<Word> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("SELECT id, language_id, original_word, translation FROM words");
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            Word word = new Word();
+            word.setId(rs.getLong("id"));
+            word.setLanguage(languageDictionary.codeOf(rs.getShort("language_id")));
+            word.setOriginalWord(rs.getString("original_word"));
+            word.setTranslation(rs.getString("translation"));
+            consumer.accept(word);
+        });
+    }
+
+    /**
+     * Streams all words in id order through a forward-only cursor: with a fetch size inside a
+     * read-only transaction the PostgreSQL driver fetches {@value #SCAN_FETCH_SIZE} rows per round
+     * trip instead of materializing the whole result. Entities are detached, one per row.
+     */
+    @Transactional(readOnly = true)
+    public void forEachWord(Consumer<Word> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(
+                    "SELECT " + WORD_COLUMNS + " FROM words ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapWord(rs, rs.getRow())));
+    }
+
+    /**
+     * Streams the words inserted or updated, then the ids deleted, by transactions not yet covered by
+     * {@code since} (change tracking from migration V5, PostgreSQL only). Everything runs on one
+     * REPEATABLE READ snapshot, whose xmin is returned as the token for the next call: transactions
+     * below it had finished when the snapshot was taken, later commits get xids at or above it. A
+     * change can therefore come twice, but never be missed - clients apply changes idempotently.
+     *
+     * @param since token from the previous call; {@code 0} streams all words and no deletes
+     * @return token for the next call
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long forEachChangeSince(long since, Consumer<Word> upserted, LongConsumer deleted) {
+        Long token = jdbcTemplate.queryForObject(SYNC_TOKEN_SQL, Long.class);
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(CHANGED_WORDS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            statement.setLong(1, since);
+            return statement;
+        }, (RowCallbackHandler) rs -> upserted.accept(mapWord(rs, rs.getRow())));
+        if (since > 0) {
+            jdbcTemplate.query(TOMBSTONES_SQL, (RowCallbackHandler) rs -> deleted.accept(rs.getLong(1)), since);
+        }
+        return Objects.requireNonNull(token);
+    }
+
+    /**
+     * Non-empty (language, proficiency level) buckets, for one language or all when {@code null}
+     * (PostgreSQL only) - at most five rows per language whatever the size of {@code words}.
+     */
+    @Transactional(readOnly = true)
+    public List<LevelCount> findLevelCounts(String language) {
+        return language != null
+                ? jdbcTemplate.query(LEVEL_COUNTS_SQL + " AND language_id = ?", this::mapLevelCount,
+                        languageDictionary.idOf(language))
+                : jdbcTemplate.query(LEVEL_COUNTS_SQL, this::mapLevelCount);
+    }
+
+    /**
+     * Word counts per (language, proficiency level) recounted from {@code words} - a full scan. On
+     * PostgreSQL the V6 counters are corrected to the recount in the same statement, by one instance
+     * at a time and without blocking concurrent writes.
+     */
+    @Transactional
+    public List<LevelCount> recountLevels() {
+        if (!isCopySupported()) {
+            return jdbcTemplate.query(COUNT_LEVELS_SQL, this::mapLevelCount);
+        }
+        boolean repairing = Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_RECONCILE_LOCK_SQL, Boolean.class));
+        return jdbcTemplate.query(repairing ? RECONCILE_LEVEL_COUNTS_SQL : COUNT_LEVELS_SQL, this::mapLevelCount);
+    }
+
+    /**
+     * The word of the bucket whose {@code random_key} follows {@code randomKey} (wrapping around).
+     * For a uniformly random key in [0, 1) a single lookup picks each word with probability equal
+     * to the gap before its key, not 1/n. The gaps do not stay put: every answer re-draws the key of
+     * the answered word ({@link #updateReviewStates}, {@code WordService.checkTranslation}), so a
+     * word with a wide gap loses it once it is picked and answered, and over repeated rounds of
+     * picking and answering each word of the bucket comes up about equally often. Empty only when
+     * the bucket has no words (PostgreSQL only).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Word> findWordAtRandomKey(String language, int proficiencyLevel, double randomKey) {
+        short languageId = languageDictionary.idOf(language);
+        return jdbcTemplate.query(WORD_AT_RANDOM_KEY_SQL, this::mapWord,
+                languageId, proficiencyLevel, randomKey, languageId, proficiencyLevel).stream().findFirst();
+    }
+
+    /**
+     * {@link #findWordAtRandomKey} for many keys in one round trip: the word at each key, in key
+     * order, so the same word can come more than once (PostgreSQL only).
+     */
+    @Transactional(readOnly = true)
+    public List<Word> findWordsAtRandomKeys(List<BucketKey> keys) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(WORDS_AT_RANDOM_KEYS_SQL);
+            statement.setArray(1, con.createArrayOf("smallint",
+                    keys.stream().map(key -> languageDictionary.idOf(key.language())).toArray()));
+            statement.setArray(2, con.createArrayOf("integer", keys.stream().map(BucketKey::proficiencyLevel).toArray()));
+            statement.setArray(3, con.createArrayOf("float8", keys.stream().map(BucketKey::randomKey).toArray()));
+            return statement;
+        }, this::mapWord);
+    }
+
+    /**
+     * Writes the learning state of many words with a single UPDATE, each field bound as one array
+     * parameter (PostgreSQL only). {@code attempts} holds the new answers per word, appended to the
+     * stored history in the same statement; it must have an entry for every key of {@code states}.
+     * Each word also gets a new {@code random_key}.
+     *
+     * @return number of words updated
+     */
+    @Transactional
+    public int updateReviewStates(Map<Long, ReviewState> states, Map<Long, AttemptHistory> attempts) {
+        List<ReviewState> values = List.copyOf(states.values());
+        List<AttemptHistory> answers = states.keySet().stream().map(attempts::get).toList();
+        return jdbcTemplate.update(con -> {
+            PreparedStatement statement = con.prepareStatement(UPDATE_REVIEW_STATES_SQL);
+            statement.setArray(1, con.createArrayOf("bigint", states.keySet().toArray()));
+            statement.setArray(2, con.createArrayOf("integer", values.stream().map(ReviewState::proficiencyLevel).toArray()));
+            statement.setArray(3, con.createArrayOf("float8", values.stream().map(ReviewState::easeFactor).toArray()));
+            statement.setArray(4, con.createArrayOf("integer", values.stream().map(ReviewState::intervalDays).toArray()));
+            statement.setArray(5, con.createArrayOf("integer", values.stream().map(ReviewState::repetitions).toArray()));
+            statement.setArray(6, con.createArrayOf("bigint",
+                    values.stream().map(state -> state.nextReviewAt().toEpochMilli()).toArray()));
+            statement.setArray(7, con.createArrayOf("bigint", answers.stream().map(AttemptHistory::bits).toArray()));
+            statement.setArray(8, con.createArrayOf("integer", answers.stream().map(AttemptHistory::attempts).toArray()));
+            statement.setArray(9, con.createArrayOf("integer", answers.stream().map(AttemptHistory::correct).toArray()));
+            return statement;
+        });
+    }
+
+    // Kody języków ze słownika w pamięci (V9) - bez złączenia z languages w zapytaniach
+    private Word mapWord(ResultSet rs, int rowNum) throws SQLException {
+        Word word = new Word();
+        word.setId(rs.getLong("id"));
+        word.setOriginalWord(rs.getString("original_word"));
+        word.setTranslation(rs.getString("translation"));
+        word.setLanguage(languageDictionary.codeOf(rs.getShort("language_id")));
+        word.setProficiencyLevel(rs.getInt("proficiency_level"));
+        word.setExampleUsage(rs.getString("example_usage"));
+        word.setExplanation(rs.getString("explanation"));
+        word.setEaseFactor(rs.getDouble("ease_factor"));
+        word.setReviewIntervalDays(rs.getInt("review_interval_days"));
+        word.setRepetitions(rs.getInt("repetitions"));
+        word.setNextReviewAt(rs.getTimestamp("next_review_at").toInstant());
+        word.setAttemptHistory(rs.getLong("attempt_history"));
+        word.setAttemptCount(rs.getInt("attempt_count"));
+        word.setCorrectCount(rs.getInt("correct_count"));
+        return word;
+    }
+
+    private LevelCount mapLevelCount(ResultSet rs, int rowNum) throws SQLException {
+        return new LevelCount(languageDictionary.codeOf(rs.getShort("language_id")),
+                rs.getInt("proficiency_level"), rs.getLong("word_count"));
+    }
+
+    private static PreparedStatementCreator idArrayStatement(String sql, Long[] ids) {
+        return con -> {
+            PreparedStatement statement = con.prepareStatement(sql);
+            statement.setArray(1, con.createArrayOf("bigint", ids));
+            return statement;
+        };
+    }
+
+    private long copyToStaging(Collection<Word> words) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(con.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+            // Writer nie jest zamykany - close() po endCopy() próbowałby pisać do zakończonego COPY
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            try {
+                for (Word word : words) {
+                    writeCsvRow(writer, word);
+                }
+                writer.flush();
+                return copyStream.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException("COPY into words_staging failed", e);
+            } finally {
+                if (copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+            }
+        });
+    }
+
+    /**
+     * The language goes in as its dictionary key; a blank one as NULL, rejected with the row.
+     */
+    private void writeCsvRow(Writer writer, Word word) throws IOException {
+        writeCsvField(writer, word.getOriginalWord());
+        writer.write(',');
+        writeCsvField(writer, word.getTranslation());
+        writer.write(',');
+        if (word.getLanguage() != null && !word.getLanguage().isBlank()) {
+            writer.write(Short.toString(languageDictionary.idOf(word.getLanguage())));
+        }
+        writer.write(',');
+        if (word.getProficiencyLevel() != null) {
+            writer.write(word.getProficiencyLevel().toString());
+        }
+        writer.write(',');
+        writeCsvField(writer, word.getExampleUsage());
+        writer.write(',');
+        writeCsvField(writer, word.getExplanation());
+        writer.write('\n');
+    }
+
+    /**
+     * COPY csv: an unquoted empty field is NULL, so every non-null value is quoted.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
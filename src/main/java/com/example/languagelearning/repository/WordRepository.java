@@ -1,20 +1,47 @@
 package com.example.languagelearning.repository;
 
+import com.example.languagelearning.dto.WordSummary;
 import com.example.languagelearning.model.Word;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WordRepository extends JpaRepository<Word, Long> {
     List<Word> findByLanguage(String language);
+
+    /**
+     * Id and level only - enough to pick a weighted random word where the V6 buckets are not
+     * available (on PostgreSQL only when they are empty). A record rather than an interface
+     * projection: no proxy per row.
+     */
+    record IdAndLevel(Long id, Integer proficiencyLevel) {
+    }
+
+    List<IdAndLevel> findIdAndLevelByLanguage(String language);
+    List<IdAndLevel> findAllProjectedBy();
+
+    // Kolejka powtórek (V7) - zakres next_review_at <= :now na indeksie (next_review_at, language_id)
+    List<Word> findByNextReviewAtLessThanEqualOrderByNextReviewAt(Instant now, Limit limit);
+    List<Word> findByLanguageAndNextReviewAtLessThanEqualOrderByNextReviewAt(String language, Instant now, Limit limit);
+
+    @Query(value = "SELECT count(*) FROM words WHERE next_review_at <= :now", nativeQuery = true)
+    long countDue(Instant now);
+
+    // Kod języka zamieniany na klucz V9 w samym zapytaniu - jedno wyszukanie przed skanem indeksu
+    @Query(value = "SELECT count(*) FROM words WHERE next_review_at <= :now "
+            + "AND language_id = (SELECT id FROM languages WHERE code = :language)", nativeQuery = true)
+    long countDueByLanguage(String language, Instant now);
     Optional<Word> findByOriginalWord(String originalWord);
-    int deleteByIdIn(List<Long> ids);
+    List<Word> findByLanguageAndOriginalWordIn(String language, Collection<String> originalWords);
     
     @Query(value = "SELECT w FROM Word w ORDER BY w.id",
            countQuery = "SELECT COUNT(w) FROM Word w")
@@ -23,4 +50,18 @@ public interface WordRepository extends JpaRepository<Word, Long> {
     @Query(value = "SELECT w FROM Word w WHERE LOWER(w.originalWord) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(w.translation) LIKE LOWER(CONCAT('%', :search, '%'))",
            countQuery = "SELECT COUNT(w) FROM Word w WHERE LOWER(w.originalWord) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(w.translation) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Word> findByOriginalWordOrTranslationContainingIgnoreCase(String search, Pageable pageable);
+
+    // Projekcje bez kolumn TEXT - listy czytają tylko wąskie kolumny (indeks pokrywający z V4)
+    @Query("SELECT new com.example.languagelearning.dto.WordSummary(w.id, w.originalWord, w.translation, w.language, w.proficiencyLevel) " +
+           "FROM Word w ORDER BY w.id")
+    List<WordSummary> findAllSummaries();
+
+    @Query(value = "SELECT new com.example.languagelearning.dto.WordSummary(w.id, w.originalWord, w.translation, w.language, w.proficiencyLevel) FROM Word w",
+           countQuery = "SELECT COUNT(w) FROM Word w")
+    Page<WordSummary> findSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.example.languagelearning.dto.WordSummary(w.id, w.originalWord, w.translation, w.language, w.proficiencyLevel) FROM Word w " +
+                   "WHERE LOWER(w.originalWord) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(w.translation) LIKE LOWER(CONCAT('%', :search, '%'))",
+           countQuery = "SELECT COUNT(w) FROM Word w WHERE LOWER(w.originalWord) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(w.translation) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<WordSummary> searchSummaries(String search, Pageable pageable);
 } 
\ No newline at end of file
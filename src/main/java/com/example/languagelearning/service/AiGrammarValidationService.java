@@ -5,22 +5,24 @@ import com.example.languagelearning.model.Word;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
 
 @Slf4j
 @Service
 public class AiGrammarValidationService {
 
-    private final ChatClient chatClient;
+    static final String PROMPT_TYPE = "grammar-validation";
+
+    private final AiModelRouter modelRouter;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AiPromptsConfig promptsConfig;
 
     @Autowired
-    public AiGrammarValidationService(ChatClient chatClient, AiPromptsConfig promptsConfig) {
-        this.chatClient = chatClient;
+    public AiGrammarValidationService(AiModelRouter modelRouter, AiPromptsConfig promptsConfig) {
+        this.modelRouter = modelRouter;
         this.promptsConfig = promptsConfig;
     }
 
@@ -28,12 +30,16 @@ public class AiGrammarValidationService {
         try {
             String prompt = buildValidationPrompt(userSentence, word, grammarTopic);
 
-            String aiResponse = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            JsonNode aiResponse = modelRouter.route(PROMPT_TYPE, prompt, objectMapper::readTree,
+                    root -> escalationReason(root, userSentence, word));
 
             return parseAiResponse(aiResponse, userSentence, word, grammarTopic);
+        } catch (AiModelRouter.UnparseableResponseException e) {
+            log.error("Error parsing AI response", e);
+            return new GrammarValidationResult(false,
+                    "Error processing AI response. Please try again.",
+                    null,
+                    generateGrammarExplanation(grammarTopic));
         } catch (Exception e) {
             log.error("Error validating sentence with AI", e);
             return new GrammarValidationResult(false,
@@ -55,10 +61,40 @@ public class AiGrammarValidationService {
                 userSentence, word.getOriginalWord(), word.getTranslation(), grammarTopic);
     }
 
-    private GrammarValidationResult parseAiResponse(String aiResponse, String userSentence, Word word, String grammarTopic) {
-        try {
-            JsonNode root = objectMapper.readTree(aiResponse);
+    /**
+     * Decides whether the fast model's verdict can be trusted or the strong model should be asked.
+     */
+    private String escalationReason(JsonNode root, String userSentence, Word word) {
+        String reason = modelRouter.verdictEscalationReason(root);
+        if (reason != null) {
+            return reason;
+        }
+        // A sentence without the required word can never be correct - the model missed that
+        if (root.get("isCorrect").asBoolean(false) && !containsRequiredWord(userSentence, word)) {
+            return AiModelRouter.REASON_HEURISTIC_MISMATCH;
+        }
+        return null;
+    }
+
+    private boolean containsRequiredWord(String userSentence, Word word) {
+        String sentence = userSentence == null ? "" : userSentence.toLowerCase(Locale.ROOT);
+        return containsStem(sentence, word.getOriginalWord()) || containsStem(sentence, word.getTranslation());
+    }
+
+    private boolean containsStem(String sentence, String required) {
+        if (required == null || required.isBlank()) {
+            return false;
+        }
+        String stem = required.trim().toLowerCase(Locale.ROOT);
+        // Tolerate simple inflection (works/worked/working) by dropping a short suffix
+        if (stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 2);
+        }
+        return sentence.contains(stem);
+    }
 
+    private GrammarValidationResult parseAiResponse(JsonNode root, String userSentence, Word word, String grammarTopic) {
+        try {
             boolean isCorrect = root.has("isCorrect") && root.get("isCorrect").asBoolean(false);
             String feedback = root.has("feedback") ? root.get("feedback").asText(null) : null;
             String correction = root.has("correction") ? root.get("correction").asText(null) : null;
@@ -82,7 +118,7 @@ public class AiGrammarValidationService {
 
             return new GrammarValidationResult(isCorrect, feedback, correction, explanation);
         } catch (Exception e) {
-            log.error("Error parsing AI response: {}", aiResponse, e);
+            log.error("Error parsing AI response: {}", root, e);
             return new GrammarValidationResult(false,
                     "Error processing AI response. Please try again.",
                     null,
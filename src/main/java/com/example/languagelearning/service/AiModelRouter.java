@@ -0,0 +1,146 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.AiRoutingProperties;
+import com.example.languagelearning.config.AiTelemetryAdvisor;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Function;
+
+/**
+ * Sends a prompt to the fast (cheap) model first and escalates to the strong model only when
+ * the fast call fails, its answer cannot be parsed or the caller rejects it (low confidence,
+ * disagreement with local heuristics). Escalations are counted here; latency and token usage per tier are recorded
+ * by {@link AiTelemetryAdvisor} from the tags this router attaches to each call.
+ */
+@Slf4j
+@Service
+public class AiModelRouter {
+
+    public static final String TIER_FAST = "fast";
+    public static final String TIER_STRONG = "strong";
+    public static final String REASON_PARSE_ERROR = "parse_error";
+    public static final String REASON_FAST_ERROR = "fast_error";
+    public static final String REASON_MISSING_VERDICT = "missing_verdict";
+    public static final String REASON_LOW_CONFIDENCE = "low_confidence";
+    public static final String REASON_HEURISTIC_MISMATCH = "heuristic_mismatch";
+
+    private final ChatClient chatClient;
+    private final AiRoutingProperties properties;
+    private final AiTelemetryAdvisor telemetry;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AiModelRouter(ChatClient chatClient, AiRoutingProperties properties, AiTelemetryAdvisor telemetry,
+                         MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        this.properties = properties;
+        this.telemetry = telemetry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param promptType      metric tag identifying the prompt template
+     * @param parser          turns the raw model output into a value, throwing if it is unusable
+     * @param escalationCheck returns a reason to escalate, or {@code null} to accept the fast answer
+     */
+    public <T> T route(String promptType, String prompt, ResponseParser<T> parser,
+                       Function<T, String> escalationCheck) {
+        if (properties.isEnabled()) {
+            String reason;
+            T result = null;
+            try {
+                String content = call(TIER_FAST, properties.getFastModel(), promptType, prompt);
+                try {
+                    result = parser.parse(content);
+                    reason = escalationCheck.apply(result);
+                    // Only after the check - an escalationCheck failure is counted once, as a parse failure
+                    telemetry.recordParseOutcome(promptType, TIER_FAST, true);
+                } catch (Exception e) {
+                    log.debug("Fast model response for {} could not be parsed: {}", promptType, e.getMessage());
+                    telemetry.recordParseOutcome(promptType, TIER_FAST, false);
+                    reason = REASON_PARSE_ERROR;
+                }
+            } catch (RuntimeException e) {
+                // Timeout, 5xx or unavailable fast model - the strong model may still answer
+                log.warn("Fast model call for {} failed: {}", promptType, e.getMessage());
+                reason = REASON_FAST_ERROR;
+            }
+
+            if (reason == null) {
+                countDecision(promptType, TIER_FAST, "none");
+                return result;
+            }
+            log.debug("Escalating {} to {}: {}", promptType, properties.getStrongModel(), reason);
+            countDecision(promptType, TIER_STRONG, reason);
+        } else {
+            countDecision(promptType, TIER_STRONG, "routing_disabled");
+        }
+
+        String content = call(TIER_STRONG, properties.getStrongModel(), promptType, prompt);
+        try {
+            T result = parser.parse(content);
+            telemetry.recordParseOutcome(promptType, TIER_STRONG, true);
+            return result;
+        } catch (Exception e) {
+            telemetry.recordParseOutcome(promptType, TIER_STRONG, false);
+            throw new UnparseableResponseException(content, e);
+        }
+    }
+
+    /**
+     * Escalation checks shared by the JSON verdict prompts: the answer must carry an
+     * {@code isCorrect} verdict and a {@code confidence} of at least {@code ai.routing.min-confidence}.
+     * Callers add their prompt-specific heuristics when this returns {@code null}.
+     */
+    public String verdictEscalationReason(JsonNode root) {
+        if (!root.has("isCorrect")) {
+            return REASON_MISSING_VERDICT;
+        }
+        JsonNode confidence = root.get("confidence");
+        if (confidence == null || !confidence.isNumber()
+                || confidence.asDouble() < properties.getMinConfidence()) {
+            return REASON_LOW_CONFIDENCE;
+        }
+        return null;
+    }
+
+    private String call(String tier, String model, String promptType, String prompt) {
+        return chatClient.prompt()
+                .options(OpenAiChatOptions.builder()
+                        .model(model)
+                        .temperature(properties.getTemperature())
+                        .build())
+                .advisors(advisor -> advisor
+                        .param(AiTelemetryAdvisor.PROMPT_TYPE, promptType)
+                        .param(AiTelemetryAdvisor.TIER, tier))
+                .user(prompt)
+                .call()
+                .content();
+    }
+
+    private void countDecision(String promptType, String answeredBy, String reason) {
+        Counter.builder("ai.routing.decisions")
+                .description("Routed calls by answering tier and escalation reason")
+                .tags("promptType", promptType, "tier", answeredBy, "reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @FunctionalInterface
+    public interface ResponseParser<T> {
+        T parse(String content) throws Exception;
+    }
+
+    public static class UnparseableResponseException extends RuntimeException {
+        public UnparseableResponseException(String content, Throwable cause) {
+            super("Unparseable AI response: " + content, cause);
+        }
+    }
+}
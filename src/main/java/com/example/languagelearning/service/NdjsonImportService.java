@@ -0,0 +1,224 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.ImportProperties;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.StreamImportSummary;
+import com.example.languagelearning.model.Word;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streamed import of newline-delimited JSON, one word object per line. The body is read line by
+ * line and every line is parsed on its own, so a malformed line fails only itself - as does a line
+ * longer than {@code import.max-line-length}, which is skipped without being buffered. Valid words are
+ * written in batches of {@code import.stream-batch-size}, each in its own transaction; reading
+ * waits while a batch is written, which pushes back on the client through TCP flow control.
+ * Unless near-duplicates are screened, the near-duplicate index is rebuilt once after the last batch.
+ * <p>
+ * Batches already written stay committed if a later one fails; each batch clears the
+ * {@code words} cache after its own commit. A word repeated in a later batch
+ * counts as unchanged or updated rather than as a duplicate.
+ */
+@Slf4j
+@Service
+public class NdjsonImportService {
+
+    private final WordService wordService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ImportProperties importProperties;
+    private final ObjectReader wordReader;
+
+    public NdjsonImportService(WordService wordService, NearDuplicateDetector nearDuplicateDetector,
+                               ImportProperties importProperties, ObjectMapper objectMapper) {
+        this.wordService = wordService;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.importProperties = importProperties;
+        this.wordReader = objectMapper.readerFor(Word.class);
+    }
+
+    public StreamImportSummary importNdjson(InputStream body, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy)
+            throws IOException {
+        long start = System.nanoTime();
+        Totals totals = new Totals(nearDuplicatePolicy != NearDuplicatePolicy.IGNORE);
+        List<Word> batch = new ArrayList<>(importProperties.getStreamBatchSize());
+
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            LineReader lines = new LineReader(reader, importProperties.getMaxLineLength());
+            String line;
+            long lineNumber = 0;
+            while ((line = lines.next()) != null) {
+                lineNumber++;
+                if (line.isBlank() && !lines.tooLong()) {
+                    continue;
+                }
+                totals.lines++;
+                Word word = lines.tooLong() ? null : parse(line);
+                if (word == null || !WordService.validateWord(word)) {
+                    totals.fail(lineNumber, importProperties.getMaxReportedFailedLines());
+                    continue;
+                }
+                batch.add(word);
+                if (batch.size() >= importProperties.getStreamBatchSize()) {
+                    totals.add(wordService.importBatch(batch, mode, nearDuplicatePolicy));
+                    batch = new ArrayList<>(importProperties.getStreamBatchSize());
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            totals.add(wordService.importBatch(batch, mode, nearDuplicatePolicy));
+        }
+        if (totals.batches > 0 && nearDuplicatePolicy == NearDuplicatePolicy.IGNORE) {
+            nearDuplicateDetector.scheduleRebuild();
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        StreamImportSummary summary = totals.toSummary(elapsedMs);
+        log.info("NDJSON import ({}): {} lines, {} inserted, {} updated, {} failed in {} batches, {}ms ({} rows/s)",
+                mode, summary.lines(), summary.inserted(), summary.updated(), summary.failedLineCount(),
+                summary.batches(), elapsedMs, summary.rowsPerSecond());
+        return summary;
+    }
+
+    private Word parse(String line) {
+        try {
+            Word word = wordReader.readValue(line);
+            if (word != null) {
+                word.setId(null);
+            }
+            return word;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@link java.io.BufferedReader#readLine()} with a bound: lines end at {@code \n} (an {@code \r}
+     * before it is dropped), and characters past the limit are read and discarded rather than
+     * appended, so a line without a newline cannot grow the buffer with the request body.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * The next line, truncated if {@link #tooLong()}, or null at the end of the body.
+         */
+        private String next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit == -1) {
+                        limit = 0;
+                        return started ? finish() : null;
+                    }
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        private boolean tooLong() {
+            return tooLong;
+        }
+
+        // Jeden znak zapasu na \r przed \n - nie liczy się do długości linii
+        private void append(int start, int end) {
+            int length = Math.min(end - start, maxLength + 1 - line.length());
+            if (length < end - start) {
+                tooLong = true;
+            }
+            line.append(buffer, start, length);
+        }
+
+        private String finish() {
+            if (!tooLong && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() > maxLength) {
+                tooLong = true;
+            }
+            return line.toString();
+        }
+    }
+
+    private static final class Totals {
+        private final boolean nearDuplicatesRequested;
+        private final List<Long> failedLines = new ArrayList<>();
+        private long lines;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long duplicates;
+        private long skippedNearDuplicates;
+        private long nearDuplicateCount;
+        private long failedLineCount;
+        private int batches;
+
+        private Totals(boolean nearDuplicatesRequested) {
+            this.nearDuplicatesRequested = nearDuplicatesRequested;
+        }
+
+        private void fail(long lineNumber, int maxReported) {
+            failedLineCount++;
+            if (failedLines.size() < maxReported) {
+                failedLines.add(lineNumber);
+            }
+        }
+
+        private void add(ImportSummary summary) {
+            batches++;
+            inserted += summary.inserted();
+            updated += summary.updated();
+            unchanged += summary.unchanged();
+            duplicates += summary.duplicates();
+            if (summary.skippedNearDuplicates() != null) {
+                skippedNearDuplicates += summary.skippedNearDuplicates();
+            }
+            if (summary.nearDuplicateCount() != null) {
+                nearDuplicateCount += summary.nearDuplicateCount();
+            }
+        }
+
+        private StreamImportSummary toSummary(long elapsedMs) {
+            return new StreamImportSummary(lines, inserted, updated, unchanged, duplicates,
+                    nearDuplicatesRequested ? skippedNearDuplicates : null,
+                    nearDuplicatesRequested ? nearDuplicateCount : null,
+                    failedLineCount, failedLines, batches, elapsedMs, lines * 1000L / elapsedMs);
+        }
+    }
+}
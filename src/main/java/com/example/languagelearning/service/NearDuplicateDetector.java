@@ -0,0 +1,435 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.NearDuplicateProperties;
+import com.example.languagelearning.dto.NearDuplicateGroup;
+import com.example.languagelearning.dto.NearDuplicateHit;
+import com.example.languagelearning.dto.NearDuplicateMatch;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Finds near-duplicate words ("Mam dość" vs "Mam dosc", trailing punctuation, small typos)
+ * without comparing every pair. Original word and translation are normalized (case, diacritics,
+ * punctuation), split into character n-grams and summarized by a MinHash signature; signatures
+ * are split into LSH bands, and only words sharing a band bucket within the same language are
+ * compared.
+ * <p>
+ * The index lives in memory: built from the table at startup, updated after each committed
+ * write and rebuilt in the background after COPY imports. A write racing a rebuild may be missed
+ * until the next rebuild - the index is a hint for imports and reports, not a constraint.
+ */
+@Slf4j
+@Service
+public class NearDuplicateDetector {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long ORIGINAL_WORD_SALT = 0x5bd1e9955bd1e995L;
+    private static final long TRANSLATION_SALT = 0x27d4eb2f165667c5L;
+
+    private final NearDuplicateProperties properties;
+    private final WordBulkOperations wordBulkOperations;
+    private final long[] hashSeeds;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "near-duplicate-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile LshIndex index = new LshIndex();
+
+    public NearDuplicateDetector(NearDuplicateProperties properties, WordBulkOperations wordBulkOperations) {
+        this.properties = properties;
+        this.wordBulkOperations = wordBulkOperations;
+        // Stałe ziarna - sygnatury są porównywalne między przebudowami indeksu
+        SplittableRandom random = new SplittableRandom(0x4d696e48L);
+        this.hashSeeds = new long[properties.getBands() * properties.getRowsPerBand()];
+        for (int i = 0; i < hashSeeds.length; i++) {
+            hashSeeds[i] = random.nextLong();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getIndexedWordCount() {
+        return index.entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public void indexAfterCommit(Collection<Word> words) {
+        if (isEnabled() && !words.isEmpty()) {
+            List<Word> snapshot = List.copyOf(words);
+            afterCommit(() -> snapshot.stream()
+                    .filter(word -> word.getId() != null)
+                    .forEach(word -> index.add(entry(word))));
+        }
+    }
+
+    public void removeAfterCommit(Collection<Long> ids) {
+        if (isEnabled() && !ids.isEmpty()) {
+            List<Long> snapshot = List.copyOf(ids);
+            afterCommit(() -> snapshot.forEach(index::remove));
+        }
+    }
+
+    /**
+     * For writes that bypass the entities (COPY imports) - the whole index is reloaded off-thread.
+     */
+    public void rebuildAfterCommit() {
+        if (isEnabled()) {
+            afterCommit(this::scheduleRebuild);
+        }
+    }
+
+    public void scheduleRebuild() {
+        if (isEnabled() && rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("Near-duplicate index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        LshIndex fresh = new LshIndex();
+        wordBulkOperations.forEachWordKey(word -> fresh.add(entry(word)));
+        index = fresh;
+        log.info("Near-duplicate index rebuilt: {} words in {}ms",
+                fresh.entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Checks words about to be imported against the index and against earlier words of the same
+     * import. Rows with the exact natural key of an existing word are left to the import mode and
+     * not probed at all, so re-syncing an unchanged file costs one map lookup per row.
+     */
+    public ImportScan scanImport(List<Word> words) {
+        LshIndex current = index;
+        LshIndex batch = new LshIndex();
+        List<Word> flagged = new ArrayList<>();
+        List<NearDuplicateHit> hits = new ArrayList<>();
+        long batchId = -1;
+        for (Word word : words) {
+            if (word.getLanguage() == null || word.getOriginalWord() == null || word.getTranslation() == null) {
+                continue;
+            }
+            if (current.containsKey(word.getLanguage(), word.getOriginalWord(), word.getTranslation())) {
+                continue;
+            }
+            Entry probe = entry(batchId--, word.getLanguage(), word.getOriginalWord(), word.getTranslation());
+            List<NearDuplicateMatch> matches = current.query(probe, properties.getThreshold(), properties.getMaxBucketSize());
+            matches.addAll(batch.query(probe, properties.getThreshold(), properties.getMaxBucketSize()));
+            if (matches.isEmpty()) {
+                batch.add(probe);
+            } else {
+                flagged.add(word);
+                if (hits.size() < properties.getMaxReportedImportHits()) {
+                    hits.add(new NearDuplicateHit(word.getLanguage(), word.getOriginalWord(), word.getTranslation(), matches));
+                }
+            }
+        }
+        return new ImportScan(flagged, hits);
+    }
+
+    /**
+     * Groups indexed words into near-duplicate clusters. Only pairs sharing an LSH bucket are
+     * compared and oversized buckets are skipped, so the cost grows with the number of candidate
+     * pairs rather than with n².
+     */
+    public List<NearDuplicateGroup> report(String language) {
+        LshIndex current = index;
+        UnionFind clusters = new UnionFind();
+        for (Set<Long> bucket : current.buckets.values()) {
+            if (bucket.size() < 2 || bucket.size() > properties.getMaxBucketSize()) {
+                continue;
+            }
+            List<Entry> members = new ArrayList<>(bucket.size());
+            for (Long id : bucket) {
+                Entry member = current.entries.get(id);
+                if (member != null && (language == null || language.equals(member.language()))) {
+                    members.add(member);
+                }
+            }
+            for (int i = 0; i < members.size(); i++) {
+                for (int j = i + 1; j < members.size(); j++) {
+                    Entry a = members.get(i);
+                    Entry b = members.get(j);
+                    if (clusters.find(a.id()) != clusters.find(b.id())
+                            && similarity(a.signature(), b.signature()) >= properties.getThreshold()) {
+                        clusters.union(a.id(), b.id());
+                    }
+                }
+            }
+        }
+
+        Map<Long, List<Entry>> byRoot = new HashMap<>();
+        for (Long id : clusters.ids()) {
+            Entry member = current.entries.get(id);
+            if (member != null) {
+                byRoot.computeIfAbsent(clusters.find(id), key -> new ArrayList<>()).add(member);
+            }
+        }
+        List<NearDuplicateGroup> groups = new ArrayList<>();
+        for (List<Entry> members : byRoot.values()) {
+            if (members.size() < 2) {
+                continue;
+            }
+            members.sort(Comparator.comparingLong(Entry::id));
+            Entry first = members.get(0);
+            List<NearDuplicateMatch> words = new ArrayList<>(members.size());
+            for (Entry member : members) {
+                words.add(toMatch(member, similarity(first.signature(), member.signature())));
+            }
+            groups.add(new NearDuplicateGroup(first.language(), words));
+        }
+        groups.sort(Comparator.comparingInt((NearDuplicateGroup g) -> g.words().size()).reversed()
+                .thenComparing(g -> g.words().get(0).id()));
+        return groups;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = text.toLowerCase(Locale.ROOT)
+                .replace('ł', 'l')
+                .replace("ß", "ss")
+                .replace('ø', 'o')
+                .replace('đ', 'd');
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private Entry entry(Word word) {
+        return entry(word.getId(), word.getLanguage(), word.getOriginalWord(), word.getTranslation());
+    }
+
+    private Entry entry(long id, String language, String originalWord, String translation) {
+        int[] signature = new int[hashSeeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        addShingles(signature, normalize(originalWord), ORIGINAL_WORD_SALT);
+        addShingles(signature, normalize(translation), TRANSLATION_SALT);
+
+        long[] bandKeys = new long[properties.getBands()];
+        long languageHash = Objects.hashCode(language);
+        for (int band = 0; band < bandKeys.length; band++) {
+            long key = mix64(languageHash ^ (band + 1) * 0x9E3779B97F4A7C15L);
+            for (int row = 0; row < properties.getRowsPerBand(); row++) {
+                key = mix64(key ^ signature[band * properties.getRowsPerBand() + row]);
+            }
+            bandKeys[band] = key;
+        }
+        return new Entry(id, language, originalWord, translation, signature, bandKeys);
+    }
+
+    /**
+     * Character n-grams of the text padded with boundary markers, so short words still shingle.
+     */
+    private void addShingles(int[] signature, String text, long salt) {
+        String padded = "^" + text + "$";
+        int size = Math.min(properties.getShingleSize(), padded.length());
+        for (int start = 0; start + size <= padded.length(); start++) {
+            long shingle = salt;
+            for (int i = start; i < start + size; i++) {
+                shingle = shingle * 31 + padded.charAt(i);
+            }
+            for (int i = 0; i < hashSeeds.length; i++) {
+                int value = (int) (mix64(shingle ^ hashSeeds[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static NearDuplicateMatch toMatch(Entry entry, double similarity) {
+        return new NearDuplicateMatch(entry.id() > 0 ? entry.id() : null, entry.originalWord(), entry.translation(),
+                Math.round(similarity * 100) / 100d);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Words of the import flagged as near-duplicates, and the first hits for the summary.
+     */
+    public record ImportScan(List<Word> flagged, List<NearDuplicateHit> hits) {
+    }
+
+    private record Entry(long id, String language, String originalWord, String translation,
+                         int[] signature, long[] bandKeys) {
+
+        private String naturalKey() {
+            return LshIndex.naturalKey(language, originalWord, translation);
+        }
+
+        private boolean sameNaturalKey(Entry other) {
+            return Objects.equals(language, other.language) && Objects.equals(originalWord, other.originalWord)
+                    && Objects.equals(translation, other.translation);
+        }
+    }
+
+    private static final class LshIndex {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+
+        private static String naturalKey(String language, String originalWord, String translation) {
+            return language + '\u0000' + originalWord + '\u0000' + translation;
+        }
+
+        private boolean containsKey(String language, String originalWord, String translation) {
+            return idsByKey.containsKey(naturalKey(language, originalWord, translation));
+        }
+
+        private void add(Entry entry) {
+            remove(entry.id());
+            entries.put(entry.id(), entry);
+            idsByKey.put(entry.naturalKey(), entry.id());
+            for (long bandKey : entry.bandKeys()) {
+                buckets.computeIfAbsent(bandKey, key -> ConcurrentHashMap.newKeySet()).add(entry.id());
+            }
+        }
+
+        private void remove(long id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            idsByKey.remove(previous.naturalKey(), id);
+            for (long bandKey : previous.bandKeys()) {
+                buckets.computeIfPresent(bandKey, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * Buckets above {@code maxBucketSize} hold content shared by many words (common prefixes,
+         * templated rows) rather than near-duplicates and are skipped, as in the report.
+         */
+        private List<NearDuplicateMatch> query(Entry probe, double threshold, int maxBucketSize) {
+            List<NearDuplicateMatch> matches = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (long bandKey : probe.bandKeys()) {
+                Set<Long> ids = buckets.get(bandKey);
+                if (ids == null || ids.size() > maxBucketSize) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Entry candidate = entries.get(id);
+                    if (candidate == null || !seen.add(id) || candidate.sameNaturalKey(probe)) {
+                        continue;
+                    }
+                    double similarity = similarity(probe.signature(), candidate.signature());
+                    if (similarity >= threshold) {
+                        matches.add(toMatch(candidate, similarity));
+                    }
+                }
+            }
+            return matches;
+        }
+    }
+
+    private static final class UnionFind {
+        private final Map<Long, Long> parent = new HashMap<>();
+
+        private long find(long id) {
+            long root = id;
+            Long next;
+            while ((next = parent.get(root)) != null && next != root) {
+                root = next;
+            }
+            parent.putIfAbsent(id, root);
+            // Kompresja ścieżki
+            long current = id;
+            while (current != root) {
+                long following = parent.get(current);
+                parent.put(current, root);
+                current = following;
+            }
+            return root;
+        }
+
+        private void union(long a, long b) {
+            long rootA = find(a);
+            long rootB = find(b);
+            if (rootA != rootB) {
+                parent.put(Math.max(rootA, rootB), Math.min(rootA, rootB));
+            }
+        }
+
+        private Set<Long> ids() {
+            return parent.keySet();
+        }
+    }
+}
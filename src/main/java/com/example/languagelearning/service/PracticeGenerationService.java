@@ -1,5 +1,6 @@
 package com.example.languagelearning.service;
 
+import com.example.languagelearning.config.AiTelemetryAdvisor;
 import com.example.languagelearning.dto.PracticeGenerationRequest;
 import com.example.languagelearning.dto.PracticeGenerationResponse;
 import com.example.languagelearning.dto.TranslationVerificationRequest;
@@ -10,19 +11,27 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Service
 public class PracticeGenerationService {
+    static final String GENERATION_PROMPT_TYPE = "practice-generation";
+    static final String VERIFICATION_PROMPT_TYPE = "translation-verification";
+
     private final ChatClient chatClient;
+    private final AiModelRouter modelRouter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Autowired
-    public PracticeGenerationService(ChatClient chatClient) {
+    public PracticeGenerationService(ChatClient chatClient, AiModelRouter modelRouter) {
         this.chatClient = chatClient;
+        this.modelRouter = modelRouter;
     }
 
     public PracticeGenerationResponse generatePracticeText(PracticeGenerationRequest request) {
         String prompt = buildPrompt(request);
         String aiResponse = chatClient.prompt()
+                .advisors(advisor -> advisor.param(AiTelemetryAdvisor.PROMPT_TYPE, GENERATION_PROMPT_TYPE))
                 .user(prompt)
                 .call()
                 .content();
@@ -31,11 +40,36 @@ public class PracticeGenerationService {
 
     public TranslationVerificationResponse verifyTranslation(TranslationVerificationRequest request) {
         String prompt = buildVerificationPrompt(request);
-        String aiResponse = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
-        return parseVerificationResponse(aiResponse, request);
+        try {
+            JsonNode aiResponse = modelRouter.route(VERIFICATION_PROMPT_TYPE, prompt, objectMapper::readTree,
+                    root -> escalationReason(root, request));
+            return parseVerificationResponse(aiResponse, request);
+        } catch (AiModelRouter.UnparseableResponseException e) {
+            return verificationFailedResponse();
+        }
+    }
+
+    private String escalationReason(JsonNode root, TranslationVerificationRequest request) {
+        String reason = modelRouter.verdictEscalationReason(root);
+        if (reason != null) {
+            return reason;
+        }
+        // Rejecting a translation identical to the model's own suggestion is self-contradictory
+        boolean isCorrect = root.get("isCorrect").asBoolean(false);
+        if (!isCorrect && root.has("correctTranslation")
+                && normalize(root.get("correctTranslation").asText()).equals(normalize(request.userTranslation()))) {
+            return AiModelRouter.REASON_HEURISTIC_MISMATCH;
+        }
+        return null;
+    }
+
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[\\p{Punct}\\s]+", " ")
+                .trim();
     }
 
     private String buildPrompt(PracticeGenerationRequest request) {
@@ -64,7 +98,8 @@ public class PracticeGenerationService {
                 "isCorrect": true/false,
                 "correctTranslation": "poprawne tłumaczenie",
                 "feedback": "krótka informacja zwrotna",
-                "explanation": "wyjaśnienie błędów lub pochwała"
+                "explanation": "wyjaśnienie błędów lub pochwała",
+                "confidence": 0.0-1.0 (pewność oceny isCorrect)
             }
             
             Oceń czy tłumaczenie jest poprawne, naturalne i oddaje sens oryginału.
@@ -76,10 +111,8 @@ public class PracticeGenerationService {
         );
     }
 
-    private TranslationVerificationResponse parseVerificationResponse(String aiResponse, TranslationVerificationRequest request) {
+    private TranslationVerificationResponse parseVerificationResponse(JsonNode root, TranslationVerificationRequest request) {
         try {
-            JsonNode root = objectMapper.readTree(aiResponse);
-            
             boolean isCorrect = root.has("isCorrect") && root.get("isCorrect").asBoolean(false);
             String aiCorrectTranslation = root.has("correctTranslation") ? root.get("correctTranslation").asText() : request.userTranslation();
             String aiFeedback = root.has("feedback") ? root.get("feedback").asText() : "";
@@ -98,12 +131,16 @@ public class PracticeGenerationService {
             return new TranslationVerificationResponse(isCorrect, correctTranslation, feedback, explanation);
         } catch (Exception e) {
             // Fallback w przypadku błędu parsowania JSON
-            return new TranslationVerificationResponse(
-                false, 
-                "Nie udało się zweryfikować tłumaczenia", 
-                "Błąd weryfikacji", 
-                "Spróbuj ponownie lub sprawdź poprawność tłumaczenia samodzielnie."
-            );
+            return verificationFailedResponse();
         }
     }
+
+    private TranslationVerificationResponse verificationFailedResponse() {
+        return new TranslationVerificationResponse(
+            false, 
+            "Nie udało się zweryfikować tłumaczenia", 
+            "Błąd weryfikacji", 
+            "Spróbuj ponownie lub sprawdź poprawność tłumaczenia samodzielnie."
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.model.ReviewState;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * SM-2 scheduling for right/wrong answers. A correct answer counts as quality 4 (ease unchanged)
+ * and moves the next review 1, 6, then interval x ease days ahead, at most {@value #MAX_INTERVAL_DAYS}
+ * days; a wrong one as quality 2 (ease -0.32, floor 1.3), restarts the repetitions and brings the word
+ * back after a short relearning delay. Only answers given when the word is due move the schedule -
+ * drilling a word through {@code /random} before its review would otherwise grow the interval with
+ * every answer. The proficiency level still moves by one either way - the weighted random draws use it.
+ */
+public final class SpacedRepetitionScheduler {
+
+    static final double INITIAL_EASE = 2.5;
+    static final double MIN_EASE = 1.3;
+    static final int CORRECT_QUALITY = 4;
+    static final int INCORRECT_QUALITY = 2;
+    static final Duration RELEARN_DELAY = Duration.ofMinutes(10);
+    // 100 lat - termin zostaje daleko w zakresie timestamptz, interwał w zakresie int
+    static final int MAX_INTERVAL_DAYS = 36_500;
+
+    private SpacedRepetitionScheduler() {
+    }
+
+    /**
+     * A new word: level 1, due right away.
+     */
+    public static ReviewState initialState(Instant now) {
+        return initialState(1, now);
+    }
+
+    /**
+     * An imported word: the level it came with, a fresh schedule, due right away.
+     */
+    public static ReviewState initialState(int proficiencyLevel, Instant now) {
+        return new ReviewState(proficiencyLevel, INITIAL_EASE, 0, 0, now);
+    }
+
+    public static ReviewState review(ReviewState state, boolean correct, Instant now) {
+        int level = correct ? Math.min(state.proficiencyLevel() + 1, 5) : Math.max(state.proficiencyLevel() - 1, 1);
+        if (now.isBefore(state.nextReviewAt())) {
+            // Odpowiedź przed terminem powtórki - harmonogram bez zmian
+            return new ReviewState(level, state.easeFactor(), state.intervalDays(), state.repetitions(),
+                    state.nextReviewAt());
+        }
+        int quality = correct ? CORRECT_QUALITY : INCORRECT_QUALITY;
+        double ease = Math.max(MIN_EASE,
+                state.easeFactor() + 0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02));
+        if (!correct) {
+            return new ReviewState(level, ease, 0, 0, now.plus(RELEARN_DELAY));
+        }
+        // Interwał z dotychczasowym współczynnikiem łatwości, jak w SM-2; iloczyn w long przed ograniczeniem
+        int intervalDays = switch (state.repetitions()) {
+            case 0 -> 1;
+            case 1 -> 6;
+            default -> (int) Math.min(Math.round(state.intervalDays() * state.easeFactor()), MAX_INTERVAL_DAYS);
+        };
+        return new ReviewState(level, ease, intervalDays, state.repetitions() + 1,
+                now.plus(Duration.ofDays(intervalDays)));
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.dto.VocabularyStats;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import com.example.languagelearning.repository.WordBulkOperations.LevelCount;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Word counts per language and proficiency level, answered from memory. Every committed change made
+ * through {@link WordService} adjusts the counters after commit, like the near-duplicate index; writes
+ * that bypass the entities (COPY imports, bulk deletes) reload them in the background from the V6
+ * {@code word_level_counts} table. A periodic job recounts {@code words} and corrects both: writes
+ * of other instances and a delta racing a reload are reflected by the next reconciliation at the latest.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VocabularyStatsService {
+
+    static final int LEVELS = 5;
+
+    private final WordBulkOperations wordBulkOperations;
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vocabulary-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private volatile Map<String, AtomicLongArray> counts = new ConcurrentHashMap<>();
+    private volatile Instant reconciledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleReload();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public VocabularyStats getStats() {
+        Map<String, VocabularyStats.LanguageStats> languages = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<String, AtomicLongArray> entry : counts.entrySet()) {
+            Map<Integer, Long> byLevel = new LinkedHashMap<>();
+            long languageTotal = 0;
+            for (int level = 1; level <= LEVELS; level++) {
+                long count = entry.getValue().get(level - 1);
+                byLevel.put(level, count);
+                languageTotal += count;
+            }
+            if (languageTotal > 0) {
+                languages.put(entry.getKey(), new VocabularyStats.LanguageStats(languageTotal, byLevel));
+                total += languageTotal;
+            }
+        }
+        return new VocabularyStats(total, languages, reconciledAt);
+    }
+
+    public void addAfterCommit(Collection<Word> words) {
+        adjustAfterCommit(words, 1);
+    }
+
+    public void removeAfterCommit(Collection<Word> words) {
+        adjustAfterCommit(words, -1);
+    }
+
+    /**
+     * A word changed language or proficiency level; no-op when neither changed.
+     */
+    public void moveAfterCommit(String fromLanguage, int fromLevel, String toLanguage, int toLevel) {
+        if (!Objects.equals(fromLanguage, toLanguage) || fromLevel != toLevel) {
+            afterCommit(() -> {
+                add(counts, fromLanguage, fromLevel, -1);
+                add(counts, toLanguage, toLevel, 1);
+            });
+        }
+    }
+
+    /**
+     * For writes whose per-word changes are not known here - the counters are reloaded off-thread.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(this::scheduleReload);
+    }
+
+    public void scheduleReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            reloadExecutor.execute(() -> {
+                reloadPending.set(false);
+                try {
+                    // Bez tabeli liczników (H2) - przeliczenie z words
+                    counts = toCounters(wordBulkOperations.isCopySupported()
+                            ? wordBulkOperations.findLevelCounts(null)
+                            : wordBulkOperations.recountLevels());
+                } catch (Exception e) {
+                    log.error("Vocabulary stats reload failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Recounts the vocabulary from {@code words} (correcting the V6 counters on the way) and replaces
+     * the in-memory counters, logging how far they had drifted.
+     */
+    @Scheduled(initialDelayString = "#{@vocabularyStatsProperties.reconcileInterval.toMillis()}",
+            fixedDelayString = "#{@vocabularyStatsProperties.reconcileInterval.toMillis()}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        try {
+            Map<String, AtomicLongArray> fresh = toCounters(wordBulkOperations.recountLevels());
+            long drift = drift(counts, fresh);
+            counts = fresh;
+            reconciledAt = Instant.now();
+            if (drift > 0) {
+                log.warn("Vocabulary stats reconciled: counters were off by {} words in total", drift);
+            }
+            log.debug("Vocabulary stats reconciled in {}ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Vocabulary stats reconciliation failed", e);
+        }
+    }
+
+    private void adjustAfterCommit(Collection<Word> words, int delta) {
+        if (!words.isEmpty()) {
+            List<Word> snapshot = List.copyOf(words);
+            List<String> languages = snapshot.stream().map(Word::getLanguage).toList();
+            int[] levels = snapshot.stream().mapToInt(Word::getProficiencyLevel).toArray();
+            afterCommit(() -> {
+                for (int i = 0; i < levels.length; i++) {
+                    add(counts, languages.get(i), levels[i], delta);
+                }
+            });
+        }
+    }
+
+    private static Map<String, AtomicLongArray> toCounters(List<LevelCount> levelCounts) {
+        Map<String, AtomicLongArray> fresh = new ConcurrentHashMap<>();
+        levelCounts.forEach(count -> add(fresh, count.language(), count.proficiencyLevel(), count.wordCount()));
+        return fresh;
+    }
+
+    private static void add(Map<String, AtomicLongArray> counters, String language, int level, long delta) {
+        if (language != null && level >= 1 && level <= LEVELS) {
+            counters.computeIfAbsent(language, key -> new AtomicLongArray(LEVELS)).addAndGet(level - 1, delta);
+        }
+    }
+
+    private static long drift(Map<String, AtomicLongArray> current, Map<String, AtomicLongArray> actual) {
+        long drift = 0;
+        Set<String> languages = new HashSet<>(current.keySet());
+        languages.addAll(actual.keySet());
+        for (String language : languages) {
+            AtomicLongArray was = current.get(language);
+            AtomicLongArray is = actual.get(language);
+            for (int i = 0; i < LEVELS; i++) {
+                drift += Math.abs((was != null ? was.get(i) : 0) - (is != null ? is.get(i) : 0));
+            }
+        }
+        return drift;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
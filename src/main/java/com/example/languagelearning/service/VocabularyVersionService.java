@@ -0,0 +1,118 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.PrimaryWalPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Monotonic version of the whole vocabulary, shared by all instances through Redis and bumped
+ * after every committed change to words. Word responses carry it as their ETag.
+ * <p>
+ * A missing key (fresh or flushed Redis) starts at the current time in milliseconds rather than
+ * at 0, so a reset can never hand out a version a client already holds. When Redis is unavailable
+ * no version is reported and responses go out without an ETag.
+ * <p>
+ * With read/write routing every bump also records the primary's WAL position, in one script with
+ * the increment and never moving it backwards: a replica that has replayed the recorded position
+ * holds every change counted in any version read before it. A position that could not be read
+ * removes the key, so version-tagged reads stay on the primary until a later bump records one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VocabularyVersionService {
+
+    static final String VERSION_KEY = "vocabulary:version";
+    static final String WAL_POSITION_KEY = "vocabulary:wal-position";
+    public static final long UNAVAILABLE = -1;
+
+    private static final RedisScript<Long> BUMP_WITH_WAL_POSITION = RedisScript.of("""
+            local version = redis.call('INCR', KEYS[1])
+            if tonumber(ARGV[1]) > tonumber(redis.call('GET', KEYS[2]) or '-1') then
+                redis.call('SET', KEYS[2], ARGV[1])
+            end
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<PrimaryWalPosition> primaryWalPosition;
+
+    public long currentVersion() {
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY);
+            if (version == null) {
+                redisTemplate.opsForValue().setIfAbsent(VERSION_KEY, Long.toString(System.currentTimeMillis()));
+                version = redisTemplate.opsForValue().get(VERSION_KEY);
+            }
+            return version != null ? Long.parseLong(version) : UNAVAILABLE;
+        } catch (Exception e) {
+            log.warn("Vocabulary version unavailable: {}", e.getMessage());
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Primary WAL position recorded by the last bump - {@link #UNAVAILABLE} without routing, before
+     * the first bump or when Redis is down.
+     */
+    public long walPosition() {
+        try {
+            String walPosition = redisTemplate.opsForValue().get(WAL_POSITION_KEY);
+            return walPosition != null ? Long.parseLong(walPosition) : UNAVAILABLE;
+        } catch (Exception e) {
+            log.warn("Vocabulary WAL position unavailable: {}", e.getMessage());
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Bumps the version once the surrounding transaction commits (immediately without one), so a
+     * reader can never see the new version together with the old data.
+     */
+    public void bumpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+        } else {
+            bump();
+        }
+    }
+
+    private void bump() {
+        try {
+            if (currentVersion() == UNAVAILABLE) {
+                return;
+            }
+            PrimaryWalPosition walPosition = primaryWalPosition.getIfAvailable();
+            if (walPosition == null) {
+                redisTemplate.opsForValue().increment(VERSION_KEY);
+                return;
+            }
+            long position;
+            try {
+                position = walPosition.current();
+            } catch (Exception e) {
+                log.warn("Primary WAL position unavailable, version-tagged reads stay on the primary: {}", e.getMessage());
+                // Przed podbiciem - nowa wersja nie może iść w parze ze starą pozycją
+                redisTemplate.delete(WAL_POSITION_KEY);
+                redisTemplate.opsForValue().increment(VERSION_KEY);
+                return;
+            }
+            redisTemplate.execute(BUMP_WITH_WAL_POSITION, List.of(VERSION_KEY, WAL_POSITION_KEY), Long.toString(position));
+        } catch (Exception e) {
+            log.error("Could not bump vocabulary version - clients may keep stale word lists until the next change", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.languagelearning.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Targeted invalidation of the {@code words} cache: the per-id entries of the given words and
+ * the aggregate views, instead of {@code allEntries = true}. Runs after commit, so a concurrent
+ * read cannot put the pre-delete state back into the cache.
+ * <p>
+ * On Redis the keys are removed with multi-key DEL commands, one per {@value #EVICT_CHUNK_SIZE}
+ * ids, rather than one round trip per id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WordCacheEvictor {
+
+    static final String CACHE_NAME = "words";
+    /**
+     * Keys of cached views computed from many words - see the {@code @Cacheable} methods of {@link WordService}.
+     */
+    static final List<String> AGGREGATE_KEYS = List.of("all");
+
+    private static final int EVICT_CHUNK_SIZE = 1000;
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public void evictAfterCommit(Collection<Long> ids) {
+        List<Long> snapshot = List.copyOf(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(snapshot);
+                }
+            });
+        } else {
+            evict(snapshot);
+        }
+    }
+
+    /**
+     * Drops the whole {@code words} cache after commit - for writes that do not know which ids they
+     * touched, such as one batch of a streamed import.
+     */
+    public void clearAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    void clear() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared cache '{}'", CACHE_NAME);
+        }
+    }
+
+    void evict(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        AGGREGATE_KEYS.forEach(cache::evict);
+        if (cache instanceof RedisCache redisCache) {
+            RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+            String prefix = config.usePrefix() ? config.getKeyPrefixFor(CACHE_NAME) : "";
+            for (int from = 0; from < ids.size(); from += EVICT_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + EVICT_CHUNK_SIZE, ids.size()));
+                List<String> keys = new ArrayList<>(chunk.size());
+                for (Long id : chunk) {
+                    keys.add(prefix + config.getConversionService().convert(id, String.class));
+                }
+                redisTemplate.delete(keys);
+            }
+        } else {
+            ids.forEach(cache::evict);
+        }
+        log.debug("Evicted {} word entries and aggregate views from cache '{}'", ids.size(), CACHE_NAME);
+    }
+}
@@ -1,8 +1,23 @@
 package com.example.languagelearning.service;
 
+import com.example.languagelearning.dto.CsvEncoding;
 import com.example.languagelearning.dto.GrammarPracticeResponse;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportResult;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.dto.NearDuplicateGroup;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.PracticeAnswer;
+import com.example.languagelearning.dto.PracticeAnswerResult;
+import com.example.languagelearning.dto.PracticeSessionResult;
 import com.example.languagelearning.dto.TranslationCheckResponse;
+import com.example.languagelearning.dto.WordAttemptStats;
+import com.example.languagelearning.dto.WordSummary;
+import com.example.languagelearning.model.AttemptHistory;
+import com.example.languagelearning.model.LanguageDictionary;
+import com.example.languagelearning.model.ReviewState;
 import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
 import com.example.languagelearning.repository.WordRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
@@ -10,8 +25,11 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,18 +37,41 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WordService {
     private final WordRepository wordRepository;
+    private final WordBulkOperations wordBulkOperations;
+    private final LanguageDictionary languageDictionary;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final WordCacheEvictor wordCacheEvictor;
+    private final VocabularyVersionService vocabularyVersionService;
+    private final VocabularyStatsService vocabularyStatsService;
     private final AiGrammarValidationService aiValidationService;
     private final TextToSpeechService textToSpeechService;
     private final Random random = new Random(System.currentTimeMillis());
@@ -39,52 +80,64 @@ public class WordService {
     private EntityManager entityManager;
 
     private static final String[] CSV_HEADERS = {"originalWord", "translation", "language", "proficiencyLevel", "exampleUsage", "explanation"};
+    private static final int IMPORT_LOOKUP_CHUNK_SIZE = 500;
+    // Indeks unikalny klucza naturalnego (language_id, original_word, translation) - migracje V3 i V9
+    static final String NATURAL_KEY_CONSTRAINT = "uq_words_language_original_translation";
+    private static final int CSV_WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String UTF8_BOM = "\uFEFF";
+    public static final int MAX_PRACTICE_SESSION_SIZE = 100;
+    // Losowanie w bazie z odrzucaniem powtórek tylko dla słownictwa co najmniej 4x większego niż sesja
+    private static final int PRACTICE_SESSION_IN_MEMORY_FACTOR = 4;
+    private static final int PRACTICE_SESSION_SAMPLING_ROUNDS = 5;
 
-    public byte[] exportToCsv() {
-        List<Word> words = getAllWords();
-
+    /**
+     * Writes the CSV export to the stream row by row from a database cursor - no list of entities
+     * and no copy of the file in memory. The stream is flushed, not closed.
+     */
+    public long exportToCsv(OutputStream out, CsvEncoding encoding) throws IOException {
+        long start = System.nanoTime();
+        long[] count = new long[1];
+        out.write(encoding.bom());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, encoding.charset()), CSV_WRITE_BUFFER_SIZE);
+        writer.write(String.join(",", CSV_HEADERS));
+        writer.write('\n');
         try {
-            // Create a string with the CSV content first
-            StringBuilder csvContent = new StringBuilder();
-
-            // Add headers
-            csvContent.append(String.join(",", CSV_HEADERS)).append("\n");
-
-            // Add data
-            for (Word word : words) {
-                csvContent.append(String.format("%s,%s,%s,%d,%s,%s%n",
-                        escapeCsvField(word.getOriginalWord()),
-                        escapeCsvField(word.getTranslation()),
-                        escapeCsvField(word.getLanguage()),
-                        word.getProficiencyLevel(),
-                        escapeCsvField(word.getExampleUsage()),
-                        escapeCsvField(word.getExplanation())
-                ));
-            }
-
-            // Convert to bytes using UTF-16LE encoding
-            byte[] contentBytes = csvContent.toString().getBytes(StandardCharsets.UTF_16LE);
-
-            // Add UTF-16LE BOM (FF FE)
-            byte[] bom = new byte[]{(byte) 0xFF, (byte) 0xFE};
-            byte[] result = new byte[bom.length + contentBytes.length];
-            System.arraycopy(bom, 0, result, 0, bom.length);
-            System.arraycopy(contentBytes, 0, result, bom.length, contentBytes.length);
-
-            return result;
-        } catch (Exception e) {
-            log.error("Error exporting words to CSV", e);
-            throw new RuntimeException("Error exporting to CSV: " + e.getMessage());
+            wordBulkOperations.forEachWord(word -> {
+                try {
+                    writer.write(escapeCsvField(word.getOriginalWord()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(word.getTranslation()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(word.getLanguage()));
+                    writer.write(',');
+                    writer.write(String.valueOf(word.getProficiencyLevel()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(word.getExampleUsage()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(word.getExplanation()));
+                    writer.write('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
+        log.info("Exported {} words to CSV ({}) in {}ms", count[0], encoding, (System.nanoTime() - start) / 1_000_000);
+        return count[0];
     }
 
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
-    public void importFromCsv(MultipartFile file) {
+    public ImportSummary importFromCsv(MultipartFile file, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy) {
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
 
             String line = reader.readLine(); // Skip header
+            if (line != null && line.startsWith(UTF8_BOM)) {
+                line = line.substring(1); // Eksport UTF-8 zaczyna się od BOM
+            }
             String expectedHeader = String.join(",", CSV_HEADERS);
             if (!expectedHeader.equals(line)) {
                 throw new RuntimeException("Invalid CSV format. Expected header: " + expectedHeader);
@@ -103,10 +156,12 @@ public class WordService {
                 }
             }
 
-            if (!wordsToSave.isEmpty()) {
-                wordRepository.saveAll(wordsToSave);
-                log.info("Successfully imported {} words", wordsToSave.size());
+            if (wordsToSave.isEmpty()) {
+                return new ImportSummary(0, 0, 0, 0, 0, 0);
             }
+            ImportResult result = importWords(wordsToSave, mode, nearDuplicatePolicy, false);
+            log.info("CSV import ({}): {}", mode, result.summary());
+            return result.summary();
         } catch (IOException e) {
             log.error("Error reading CSV file", e);
             throw new RuntimeException("Error importing CSV: " + e.getMessage());
@@ -131,7 +186,7 @@ public class WordService {
         return word;
     }
 
-    private boolean validateWord(Word word) {
+    static boolean validateWord(Word word) {
         return word.getOriginalWord() != null && !word.getOriginalWord().trim().isEmpty() &&
                 word.getTranslation() != null && !word.getTranslation().trim().isEmpty() &&
                 word.getLanguage() != null && !word.getLanguage().trim().isEmpty() &&
@@ -180,8 +235,11 @@ public class WordService {
         return fields.toArray(new String[0]);
     }
 
+    @Transactional(readOnly = true)
     @SuppressWarnings("unchecked")
-    @org.springframework.cache.annotation.Cacheable(value = "words", key = "'all'")
+    // Wynik z repliki nie trafia do wspólnego cache - mógłby przywrócić stan sprzed zapisu
+    @org.springframework.cache.annotation.Cacheable(value = "words", key = "'all'",
+            unless = "T(com.example.languagelearning.config.ReplicaReadContext).isReplicaAllowed()")
     public List<Word> getAllWords() {
         try {
             Query query = entityManager.createNativeQuery(
@@ -197,6 +255,27 @@ public class WordService {
         }
     }
 
+    /**
+     * Not cached - an index-only scan over the narrow columns.
+     */
+    @Transactional(readOnly = true)
+    public List<WordSummary> getAllWordSummaries() {
+        return wordRepository.findAllSummaries();
+    }
+
+    public List<NearDuplicateGroup> getNearDuplicateReport(String language) {
+        return nearDuplicateDetector.isEnabled() ? nearDuplicateDetector.report(language) : List.of();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<WordSummary> getWordSummariesPaginated(Pageable pageable, String search) {
+        if (search != null && !search.trim().isEmpty()) {
+            return wordRepository.searchSummaries(search.trim(), pageable);
+        }
+        return wordRepository.findSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
     public Page<Word> getWordsPaginated(Pageable pageable, String search) {
         if (search != null && !search.trim().isEmpty()) {
             return wordRepository.findByOriginalWordOrTranslationContainingIgnoreCase(search.trim(), pageable);
@@ -204,7 +283,9 @@ public class WordService {
         return wordRepository.findAll(pageable);
     }
 
-    @org.springframework.cache.annotation.Cacheable(value = "words", key = "#id")
+    @Transactional(readOnly = true)
+    @org.springframework.cache.annotation.Cacheable(value = "words", key = "#id",
+            unless = "T(com.example.languagelearning.config.ReplicaReadContext).isReplicaAllowed()")
     public Word getWord(Long id) {
         try {
             return wordRepository.findById(id)
@@ -219,11 +300,21 @@ public class WordService {
     }
 
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
     public Word createWord(Word word) {
         try {
-            word.setProficiencyLevel(1);
-            return wordRepository.save(word);
+            SpacedRepetitionScheduler.initialState(Instant.now()).applyTo(word);
+            AttemptHistory.EMPTY.applyTo(word);
+            languageDictionary.register(List.of(word.getLanguage()));
+            Word saved = saveUnique(word);
+            nearDuplicateDetector.indexAfterCommit(List.of(saved));
+            vocabularyStatsService.addAfterCommit(List.of(saved));
+            // Nowe słowo nie ma własnego wpisu w cache - wystarczą widoki zbiorcze
+            wordCacheEvictor.evictAfterCommit(List.of());
+            vocabularyVersionService.bumpAfterCommit();
+            return saved;
+        } catch (DuplicateWordException e) {
+            log.warn(e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error creating word: {}", word, e);
             throw e;
@@ -231,85 +322,247 @@ public class WordService {
     }
 
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
     public Word updateWord(Long id, Word updatedWord) {
         try {
             Word existingWord = getWord(id);
+            String previousLanguage = existingWord.getLanguage();
             existingWord.setOriginalWord(updatedWord.getOriginalWord());
             existingWord.setTranslation(updatedWord.getTranslation());
             existingWord.setLanguage(updatedWord.getLanguage());
             existingWord.setExampleUsage(updatedWord.getExampleUsage());
             existingWord.setExplanation(updatedWord.getExplanation());
-            return wordRepository.save(existingWord);
+            languageDictionary.register(List.of(existingWord.getLanguage()));
+            Word saved = saveUnique(existingWord);
+            nearDuplicateDetector.indexAfterCommit(List.of(saved));
+            vocabularyStatsService.moveAfterCommit(previousLanguage, saved.getProficiencyLevel(),
+                    saved.getLanguage(), saved.getProficiencyLevel());
+            wordCacheEvictor.evictAfterCommit(List.of(id));
+            vocabularyVersionService.bumpAfterCommit();
+            return saved;
+        } catch (DuplicateWordException e) {
+            log.warn(e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error updating word with id: {}", id, e);
             throw e;
         }
     }
 
+    /**
+     * Saves and flushes right away, so a clash with the natural key (V3) surfaces here as
+     * {@link DuplicateWordException} (409) rather than as a constraint violation at commit.
+     */
+    private Word saveUnique(Word word) {
+        try {
+            Word saved = wordRepository.save(word);
+            wordRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isNaturalKeyViolation(e)) {
+                throw new DuplicateWordException(word);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isNaturalKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(NATURAL_KEY_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
     public void deleteWord(Long id) {
         try {
             Word word = getWord(id);
             wordRepository.delete(word);
+            nearDuplicateDetector.removeAfterCommit(List.of(id));
+            vocabularyStatsService.removeAfterCommit(List.of(word));
+            wordCacheEvictor.evictAfterCommit(List.of(id));
+            vocabularyVersionService.bumpAfterCommit();
         } catch (Exception e) {
             log.error("Error deleting word with id: {}", id, e);
             throw e;
         }
     }
 
+    /**
+     * Picks a word weighted towards low proficiency. On PostgreSQL the pick is done by the database
+     * at a cost independent of the vocabulary size ({@link #pickWeightedRandomWord}); elsewhere from
+     * (id, level) pairs only, then loading the one chosen word - the TEXT columns of the others are
+     * never read.
+     */
+    @Transactional(readOnly = true)
     public Word getRandomWord(String language) {
         try {
-            List<Word> words;
-            if (language != null) {
-                words = wordRepository.findByLanguage(language);
-            } else {
-                words = wordRepository.findAll();
+            if (wordBulkOperations.isCopySupported()) {
+                Word word = pickWeightedRandomWord(language);
+                if (word != null) {
+                    return word;
+                }
             }
 
-            if (words.isEmpty()) {
+            List<WordRepository.IdAndLevel> candidates = language != null
+                    ? wordRepository.findIdAndLevelByLanguage(language)
+                    : wordRepository.findAllProjectedBy();
+
+            if (candidates.isEmpty()) {
                 log.warn("No words found with given criteria: language={}", language);
                 return null; // Return null instead of throwing exception
             }
 
-            List<Word> weightedList = new ArrayList<>();
-            for (Word word : words) {
-                int weight = 6 - word.getProficiencyLevel();
-                for (int i = 0; i < weight; i++) {
-                    weightedList.add(word);
-                }
+            long totalWeight = 0;
+            for (WordRepository.IdAndLevel candidate : candidates) {
+                totalWeight += levelWeight(candidate.proficiencyLevel());
             }
 
-            // Use current timestamp for better randomization
-            int randomIndex = (int) (System.currentTimeMillis() % weightedList.size());
-            return weightedList.get(randomIndex);
+            long target = ThreadLocalRandom.current().nextLong(totalWeight);
+            for (WordRepository.IdAndLevel candidate : candidates) {
+                target -= levelWeight(candidate.proficiencyLevel());
+                if (target < 0) {
+                    return wordRepository.findById(candidate.id()).orElse(null);
+                }
+            }
+            return null;
         } catch (Exception e) {
             log.error("Error getting random word", e);
             throw e;
         }
     }
 
+    /**
+     * Two steps on the structures of migration V6: a (language, level) bucket with probability
+     * proportional to its word count times the level weight, then one index lookup at a random key
+     * inside the bucket. Null when there are no words, or when the counters are momentarily ahead of
+     * the table (the caller then falls back to the in-memory pick).
+     */
+    private Word pickWeightedRandomWord(String language) {
+        List<WordBulkOperations.LevelCount> buckets = wordBulkOperations.findLevelCounts(language);
+        long totalWeight = 0;
+        for (WordBulkOperations.LevelCount bucket : buckets) {
+            totalWeight += bucket.wordCount() * levelWeight(bucket.proficiencyLevel());
+        }
+        if (totalWeight <= 0) {
+            return null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long target = random.nextLong(totalWeight);
+        for (WordBulkOperations.LevelCount bucket : buckets) {
+            target -= bucket.wordCount() * levelWeight(bucket.proficiencyLevel());
+            if (target < 0) {
+                return wordBulkOperations.findWordAtRandomKey(bucket.language(), bucket.proficiencyLevel(),
+                        random.nextDouble()).orElse(null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@link #pickWeightedRandomWord} for a whole session: keys for all draws are looked up in one
+     * statement and repeated words are rejected, which keeps each next word weighted among the
+     * words not yet drawn. Vocabularies not much larger than the session are sampled in memory
+     * instead (returns null), where rejection would need many rounds.
+     */
+    private List<Word> pickWeightedRandomWords(String language, int wanted) {
+        List<WordBulkOperations.LevelCount> buckets = wordBulkOperations.findLevelCounts(language);
+        long totalWords = 0;
+        long totalWeight = 0;
+        for (WordBulkOperations.LevelCount bucket : buckets) {
+            totalWords += bucket.wordCount();
+            totalWeight += bucket.wordCount() * levelWeight(bucket.proficiencyLevel());
+        }
+        if (totalWords == 0) {
+            return List.of();
+        }
+        if (totalWords <= (long) wanted * PRACTICE_SESSION_IN_MEMORY_FACTOR || totalWeight <= 0) {
+            return null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Long, Word> picked = new LinkedHashMap<>();
+        for (int round = 0; round < PRACTICE_SESSION_SAMPLING_ROUNDS && picked.size() < wanted; round++) {
+            int draws = (wanted - picked.size()) * 2;
+            List<WordBulkOperations.BucketKey> keys = new ArrayList<>(draws);
+            for (int i = 0; i < draws; i++) {
+                long target = random.nextLong(totalWeight);
+                for (WordBulkOperations.LevelCount bucket : buckets) {
+                    target -= bucket.wordCount() * levelWeight(bucket.proficiencyLevel());
+                    if (target < 0) {
+                        keys.add(new WordBulkOperations.BucketKey(bucket.language(), bucket.proficiencyLevel(), random.nextDouble()));
+                        break;
+                    }
+                }
+            }
+            for (Word word : wordBulkOperations.findWordsAtRandomKeys(keys)) {
+                if (picked.size() < wanted) {
+                    picked.putIfAbsent(word.getId(), word);
+                }
+            }
+        }
+        return new ArrayList<>(picked.values());
+    }
+
+    /**
+     * Weighted sampling without replacement in one pass (Efraimidis-Spirakis): each word gets the
+     * key u^(1/weight) and the {@code wanted} largest keys win. Only the chosen words are loaded.
+     */
+    private List<Word> sampleWithoutReplacement(List<WordRepository.IdAndLevel> candidates, int wanted) {
+        PriorityQueue<Map.Entry<Double, Long>> top = new PriorityQueue<>(Map.Entry.comparingByKey());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (WordRepository.IdAndLevel candidate : candidates) {
+            double key = Math.pow(random.nextDouble(), 1.0 / levelWeight(candidate.proficiencyLevel()));
+            if (top.size() < wanted) {
+                top.add(Map.entry(key, candidate.id()));
+            } else if (key > top.peek().getKey()) {
+                top.poll();
+                top.add(Map.entry(key, candidate.id()));
+            }
+        }
+        List<Long> ids = top.stream().map(Map.Entry::getValue).toList();
+        Map<Long, Word> words = wordRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Word::getId, word -> word));
+        return ids.stream().map(words::get).filter(Objects::nonNull).toList();
+    }
+
+    // Odpowiedź losuje nową pozycję słowa w kubełku - inaczej odstęp przed jego kluczem, a z nim szansa
+    // wylosowania, zostawałby na zawsze (WordBulkOperations.findWordAtRandomKey)
+    private static void redrawRandomKey(Word word) {
+        word.setRandomKey(ThreadLocalRandom.current().nextDouble());
+    }
+
+    // Słowa słabiej opanowane losowane częściej: poziom 1 -> waga 5, poziom 5 -> waga 1
+    private static int levelWeight(int proficiencyLevel) {
+        return 6 - proficiencyLevel;
+    }
+
     @Transactional
     public TranslationCheckResponse checkTranslation(Long id, String translation) {
         try {
             Word word = getWord(id);
-            boolean isCorrect = word.getTranslation().equalsIgnoreCase(translation.trim());
-
-            if (isCorrect) {
-                word.setProficiencyLevel(Math.min(word.getProficiencyLevel() + 1, 5));
-            } else {
-                word.setProficiencyLevel(Math.max(word.getProficiencyLevel() - 1, 1));
-            }
+            boolean isCorrect = isCorrectTranslation(word, translation);
+            int previousLevel = word.getProficiencyLevel();
+            SpacedRepetitionScheduler.review(ReviewState.of(word), isCorrect, Instant.now()).applyTo(word);
+            AttemptHistory.of(word).record(isCorrect).applyTo(word);
+            redrawRandomKey(word);
 
             wordRepository.save(word);
+            vocabularyStatsService.moveAfterCommit(word.getLanguage(), previousLevel,
+                    word.getLanguage(), word.getProficiencyLevel());
+            // Eviction przed podbiciem wersji - nowy ETag nie może trafić na stary wpis w cache
+            wordCacheEvictor.evictAfterCommit(List.of(id));
+            vocabularyVersionService.bumpAfterCommit();
 
             return new TranslationCheckResponse(
                     isCorrect,
                     word.getTranslation(),
                     word.getExampleUsage(),
                     word.getExplanation(),
-                    isCorrect ? "Correct!" : "Incorrect. The correct answer is: " + word.getTranslation()
+                    checkMessage(word, isCorrect)
             );
         } catch (Exception e) {
             log.error("Error checking translation for word id: {}", id, e);
@@ -317,9 +570,115 @@ public class WordService {
         }
     }
 
+    /**
+     * Up to {@code size} distinct words for one practice round, weighted towards low proficiency
+     * like {@link #getRandomWord}, in one call instead of one request per word.
+     */
+    @Transactional(readOnly = true)
+    public List<Word> getPracticeSession(String language, int size) {
+        int wanted = Math.min(Math.max(size, 1), MAX_PRACTICE_SESSION_SIZE);
+        if (wordBulkOperations.isCopySupported()) {
+            List<Word> words = pickWeightedRandomWords(language, wanted);
+            if (words != null) {
+                return words;
+            }
+        }
+        List<WordRepository.IdAndLevel> candidates = language != null
+                ? wordRepository.findIdAndLevelByLanguage(language)
+                : wordRepository.findAllProjectedBy();
+        return sampleWithoutReplacement(candidates, wanted);
+    }
+
+    /**
+     * The most overdue words first, up to {@code limit} - the spaced-repetition queue. A range scan
+     * on {@code idx_words_due} (V7) that stops after {@code limit} rows, so the cost follows the
+     * number of due words, not the vocabulary size.
+     */
+    @Transactional(readOnly = true)
+    public List<Word> getDueWords(String language, int limit) {
+        Instant now = Instant.now();
+        Limit top = Limit.of(Math.min(Math.max(limit, 1), MAX_PRACTICE_SESSION_SIZE));
+        return language != null
+                ? wordRepository.findByLanguageAndNextReviewAtLessThanEqualOrderByNextReviewAt(language, now, top)
+                : wordRepository.findByNextReviewAtLessThanEqualOrderByNextReviewAt(now, top);
+    }
+
+    @Transactional(readOnly = true)
+    public long countDueWords(String language) {
+        Instant now = Instant.now();
+        return language != null ? wordRepository.countDueByLanguage(language, now) : wordRepository.countDue(now);
+    }
+
+    @Transactional(readOnly = true)
+    public WordAttemptStats getAttemptStats(Long id) {
+        return WordAttemptStats.of(id, AttemptHistory.of(getWord(id)));
+    }
+
+    /**
+     * Grades a batch of answers in one transaction: the words are read with one query, graded in
+     * submission order (a word answered twice moves twice, as with consecutive checks) and the new
+     * learning states are written at once - a single UPDATE on PostgreSQL, JDBC-batched entity
+     * updates elsewhere. Unknown word ids are reported, not failed.
+     */
+    @Transactional
+    public PracticeSessionResult submitPracticeAnswers(List<PracticeAnswer> answers) {
+        List<Long> ids = answers.stream().map(PracticeAnswer::wordId).filter(Objects::nonNull).distinct().toList();
+        Map<Long, Word> words = wordRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Word::getId, word -> word));
+
+        Instant now = Instant.now();
+        Map<Long, ReviewState> states = new LinkedHashMap<>();
+        Map<Long, AttemptHistory> attempts = new HashMap<>();
+        List<PracticeAnswerResult> results = new ArrayList<>(answers.size());
+        int correctCount = 0;
+        for (PracticeAnswer answer : answers) {
+            Word word = answer.wordId() != null ? words.get(answer.wordId()) : null;
+            if (word == null) {
+                results.add(new PracticeAnswerResult(answer.wordId(), false, null, null, null,
+                        "Word not found with id: " + answer.wordId(), null, null));
+                continue;
+            }
+            boolean isCorrect = isCorrectTranslation(word, answer.translation());
+            ReviewState state = SpacedRepetitionScheduler.review(
+                    states.getOrDefault(word.getId(), ReviewState.of(word)), isCorrect, now);
+            states.put(word.getId(), state);
+            attempts.merge(word.getId(), AttemptHistory.EMPTY.record(isCorrect), AttemptHistory::append);
+            correctCount += isCorrect ? 1 : 0;
+            results.add(new PracticeAnswerResult(word.getId(), isCorrect, word.getTranslation(),
+                    word.getExampleUsage(), word.getExplanation(), checkMessage(word, isCorrect),
+                    state.proficiencyLevel(), state.nextReviewAt()));
+        }
+
+        if (!states.isEmpty()) {
+            states.forEach((id, state) -> vocabularyStatsService.moveAfterCommit(words.get(id).getLanguage(),
+                    words.get(id).getProficiencyLevel(), words.get(id).getLanguage(), state.proficiencyLevel()));
+            if (wordBulkOperations.isCopySupported()) {
+                wordBulkOperations.updateReviewStates(states, attempts);
+            } else {
+                states.forEach((id, state) -> {
+                    Word word = words.get(id);
+                    state.applyTo(word);
+                    AttemptHistory.of(word).append(attempts.get(id)).applyTo(word);
+                    redrawRandomKey(word);
+                });
+            }
+            wordCacheEvictor.evictAfterCommit(states.keySet());
+            vocabularyVersionService.bumpAfterCommit();
+        }
+        log.debug("Practice answers: {} graded, {} correct, {} words updated", answers.size(), correctCount, states.size());
+        return new PracticeSessionResult(answers.size(), correctCount, states.size(), results);
+    }
+
+    private static boolean isCorrectTranslation(Word word, String translation) {
+        return translation != null && word.getTranslation().equalsIgnoreCase(translation.trim());
+    }
+
+    private static String checkMessage(Word word, boolean correct) {
+        return correct ? "Correct!" : "Incorrect. The correct answer is: " + word.getTranslation();
+    }
+
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
-    public List<Word> bulkImport(List<Word> words) {
+    public ImportSummary bulkImport(List<Word> words, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy) {
         try {
             // Validate all words before saving
             for (Word word : words) {
@@ -328,20 +687,179 @@ public class WordService {
                 }
             }
 
-            return wordRepository.saveAll(words);
+            return importWords(words, mode, nearDuplicatePolicy, true).summary();
         } catch (Exception e) {
             log.error("Error bulk importing words", e);
             throw e;
         }
     }
 
+    /**
+     * One batch of a streamed import, in its own transaction - the words are already validated.
+     * When near-duplicates are screened, affected rows are read back and indexed right away so the
+     * next batch is checked against this one; otherwise the caller rebuilds the index once at the end.
+     */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "words", allEntries = true)
-    public int bulkDelete(List<Long> wordIds) {
+    public ImportSummary importBatch(List<Word> words, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy) {
+        boolean screened = nearDuplicatePolicy != NearDuplicatePolicy.IGNORE;
+        return importWords(words, mode, nearDuplicatePolicy, screened, !screened).summary();
+    }
+
+    /**
+     * Screens the words for near-duplicates when asked to, then loads them through COPY on
+     * PostgreSQL or in JDBC batches elsewhere, and keeps the near-duplicate index in step.
+     */
+    private ImportResult importWords(List<Word> words, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy,
+                                     boolean indexAffected) {
+        return importWords(words, mode, nearDuplicatePolicy, indexAffected, false);
+    }
+
+    /**
+     * @param indexAffected     add the inserted and updated rows to the near-duplicate index one by one
+     *                          instead of rebuilding it; the rows are read back only when the index is enabled
+     * @param deferIndexRebuild the caller schedules the near-duplicate index rebuild itself (streamed
+     *                          imports, which would otherwise trigger one per batch)
+     */
+    private ImportResult importWords(List<Word> words, ImportMode mode, NearDuplicatePolicy nearDuplicatePolicy,
+                                     boolean indexAffected, boolean deferIndexRebuild) {
+        NearDuplicateDetector.ImportScan scan = null;
+        List<Word> toImport = words;
+        if (nearDuplicatePolicy != NearDuplicatePolicy.IGNORE && nearDuplicateDetector.isEnabled()) {
+            scan = nearDuplicateDetector.scanImport(words);
+            if (nearDuplicatePolicy == NearDuplicatePolicy.SKIP && !scan.flagged().isEmpty()) {
+                Set<Word> flagged = Collections.newSetFromMap(new IdentityHashMap<>());
+                flagged.addAll(scan.flagged());
+                toImport = words.stream().filter(word -> !flagged.contains(word)).toList();
+            }
+        }
+
+        boolean returnAffected = indexAffected && nearDuplicateDetector.isEnabled();
+        ImportResult result = wordBulkOperations.isCopySupported()
+                ? wordBulkOperations.load(toImport, mode, returnAffected)
+                : importInBatches(toImport, mode, returnAffected);
+        if (returnAffected) {
+            nearDuplicateDetector.indexAfterCommit(result.affectedWords());
+        } else if (!deferIndexRebuild) {
+            nearDuplicateDetector.rebuildAfterCommit();
+        }
+        if (result.summary().inserted() + result.summary().updated() > 0) {
+            vocabularyStatsService.reloadAfterCommit();
+            // Po commicie każdej paczki i przed podbiciem wersji - import nie zna id zmienionych słów
+            wordCacheEvictor.clearAfterCommit();
+            vocabularyVersionService.bumpAfterCommit();
+        }
+
+        if (scan == null) {
+            return result;
+        }
+        ImportSummary summary = result.summary().withNearDuplicates(words.size(), words.size() - toImport.size(),
+                scan.flagged().size(), scan.hits());
+        return new ImportResult(summary, result.affectedWords());
+    }
+
+    /**
+     * Import path for databases without COPY / ON CONFLICT (H2 in tests): same semantics as
+     * {@link WordBulkOperations#load}, with existing rows looked up one query per language and chunk
+     * instead of per word. Inserts go out in JDBC batches (ids from the pooled words_id_seq),
+     * updates rely on dirty checking inside the caller's transaction.
+     */
+    private ImportResult importInBatches(List<Word> words, ImportMode mode, boolean returnAffected) {
+        long start = System.nanoTime();
+        Map<String, Word> unique = new LinkedHashMap<>();
+        long rejected = 0;
+        for (Word word : words) {
+            if (!validateWord(word)) {
+                rejected++;
+            } else {
+                unique.putIfAbsent(naturalKey(word), word);
+            }
+        }
+        long duplicates = words.size() - rejected - unique.size();
+
+        List<Word> toInsert = new ArrayList<>();
+        List<Word> updatedWords = new ArrayList<>();
+        long unchanged = 0;
+        List<Word> candidates = new ArrayList<>(unique.values());
+        for (int from = 0; from < candidates.size(); from += IMPORT_LOOKUP_CHUNK_SIZE) {
+            List<Word> chunk = candidates.subList(from, Math.min(from + IMPORT_LOOKUP_CHUNK_SIZE, candidates.size()));
+            Map<String, Word> existing = findExisting(chunk);
+            for (Word word : chunk) {
+                Word current = existing.get(naturalKey(word));
+                if (current == null) {
+                    toInsert.add(word);
+                } else if (mode == ImportMode.UPSERT && contentDiffers(current, word)) {
+                    current.setExampleUsage(word.getExampleUsage());
+                    current.setExplanation(word.getExplanation());
+                    updatedWords.add(current);
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+
+        Instant now = Instant.now();
+        for (Word word : toInsert) {
+            // Jak domyślne kolumny V7/V8 w COPY - import niesie poziom, nie harmonogram ani historię odpowiedzi
+            SpacedRepetitionScheduler.initialState(word.getProficiencyLevel(), now).applyTo(word);
+            AttemptHistory.EMPTY.applyTo(word);
+        }
+        languageDictionary.register(toInsert.stream().map(Word::getLanguage).toList());
+        List<Word> inserted = wordRepository.saveAll(toInsert);
+        entityManager.flush();
+        List<Word> affectedWords = List.of();
+        if (returnAffected) {
+            affectedWords = new ArrayList<>(inserted);
+            affectedWords.addAll(updatedWords);
+        }
+
+        ImportSummary summary = new ImportSummary(words.size(), toInsert.size(), updatedWords.size(),
+                unchanged, rejected, duplicates);
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Batched import ({}): {} in {}ms ({} rows/s)", mode, summary, elapsedMs, words.size() * 1000L / elapsedMs);
+        return new ImportResult(summary, affectedWords);
+    }
+
+    private Map<String, Word> findExisting(List<Word> chunk) {
+        Map<String, Word> existing = new LinkedHashMap<>();
+        Map<String, List<String>> originalsByLanguage = chunk.stream().collect(Collectors.groupingBy(
+                Word::getLanguage, LinkedHashMap::new, Collectors.mapping(Word::getOriginalWord, Collectors.toList())));
+        originalsByLanguage.forEach((language, originals) ->
+                wordRepository.findByLanguageAndOriginalWordIn(language, originals)
+                        .forEach(word -> existing.putIfAbsent(naturalKey(word), word)));
+        return existing;
+    }
+
+    private static String naturalKey(Word word) {
+        return word.getLanguage() + '\u0000' + word.getOriginalWord() + '\u0000' + word.getTranslation();
+    }
+
+    private static boolean contentDiffers(Word current, Word imported) {
+        return !Objects.equals(current.getExampleUsage(), imported.getExampleUsage())
+                || !Objects.equals(current.getExplanation(), imported.getExplanation());
+    }
+
+    /**
+     * Set-based delete - see {@link WordBulkOperations#deleteByIds}. Only the deleted words and
+     * the aggregate views are evicted from the cache.
+     *
+     * @return ids of the words that existed and were deleted
+     */
+    @Transactional
+    public List<Long> bulkDelete(List<Long> wordIds) {
         try {
-            return wordRepository.deleteByIdIn(wordIds);
+            long start = System.nanoTime();
+            List<Long> deletedIds = wordBulkOperations.deleteByIds(wordIds);
+            wordCacheEvictor.evictAfterCommit(deletedIds);
+            nearDuplicateDetector.removeAfterCommit(deletedIds);
+            if (!deletedIds.isEmpty()) {
+                vocabularyStatsService.reloadAfterCommit();
+                vocabularyVersionService.bumpAfterCommit();
+            }
+            log.info("Bulk delete: {} of {} requested words deleted in {}ms",
+                    deletedIds.size(), wordIds.size(), (System.nanoTime() - start) / 1_000_000);
+            return deletedIds;
         } catch (Exception e) {
-            log.error("Error bulk deleting words", e);
+            log.error("Error bulk deleting {} words", wordIds.size(), e);
             throw e;
         }
     }
@@ -565,4 +1083,14 @@ public class WordService {
                     Make sure to use the given word in your sentence and apply the grammar topic correctly.""";
         };
     }
-} 
+
+    /**
+     * Another word already has the same language, original word and translation.
+     */
+    public static class DuplicateWordException extends RuntimeException {
+        public DuplicateWordException(Word word) {
+            super("Word already exists: " + word.getLanguage() + " '" + word.getOriginalWord()
+                    + "' -> '" + word.getTranslation() + "'");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes all words as one JSON array while they are read from a database cursor - neither the
+ * list of entities nor the serialized body is held in memory. Same JSON as {@link WordService#getAllWords()},
+ * without the cache. Delta sync responses are written the same way.
+ */
+@Slf4j
+@Service
+public class WordStreamingService {
+
+    private final WordBulkOperations wordBulkOperations;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter wordWriter;
+
+    public WordStreamingService(WordBulkOperations wordBulkOperations, ObjectMapper objectMapper) {
+        this.wordBulkOperations = wordBulkOperations;
+        this.objectMapper = objectMapper;
+        // Bez flush po każdym słowie - bufor generatora i odpowiedzi decyduje o wielkości kawałków
+        this.wordWriter = objectMapper.writerFor(Word.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * The output stream is not closed. A failure after the first bytes leaves a truncated array -
+     * the status line has already been sent.
+     */
+    public long writeAllWords(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long[] count = new long[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            try {
+                wordBulkOperations.forEachWord(word -> {
+                    try {
+                        wordWriter.writeValue(generator, word);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+        log.info("Streamed {} words in {}ms", count[0], (System.nanoTime() - start) / 1_000_000);
+        return count[0];
+    }
+
+    /**
+     * Writes the changes since a sync token as
+     * {@code {"since":..,"fullResync":..,"upserted":[words],"deleted":[ids],"token":..}}, streamed
+     * like {@link #writeAllWords}. With {@code fullResync} the client replaces its copy with
+     * {@code upserted} - for {@code since <= 0} and on databases without change tracking (H2), where
+     * the token stays {@code 0}.
+     */
+    public void writeChangesSince(long since, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        boolean tracked = since > 0 && wordBulkOperations.isCopySupported();
+        long[] counts = new long[2];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("since", since);
+            generator.writeBooleanField("fullResync", !tracked);
+            generator.writeArrayFieldStart("upserted");
+            List<Long> deletedIds = new ArrayList<>();
+            long token;
+            try {
+                Consumer<Word> upserted = word -> {
+                    try {
+                        wordWriter.writeValue(generator, word);
+                        counts[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                if (wordBulkOperations.isCopySupported()) {
+                    token = wordBulkOperations.forEachChangeSince(tracked ? since : 0, upserted, deletedIds::add);
+                } else {
+                    wordBulkOperations.forEachWord(upserted);
+                    token = 0;
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("deleted");
+            for (Long id : deletedIds) {
+                generator.writeNumber(id);
+            }
+            counts[1] = deletedIds.size();
+            generator.writeEndArray();
+            generator.writeNumberField("token", token);
+            generator.writeEndObject();
+        }
+        log.info("Streamed changes since {}: {} upserted, {} deleted in {}ms",
+                since, counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,15 @@
+-- Tabela words w postaci, w jakiej tworzył ją Hibernate (ddl-auto) przed migracjami V1-V9
+-- V0_1__create_words_table.sql
+--
+-- Punkt wyjścia dla pustej bazy - kolejne migracje zakładają istnienie tej tabeli. W bazie utworzonej
+-- wcześniej przez Hibernate (wpis bazowy 0) tabela już jest i migracja niczego nie zmienia.
+
+CREATE TABLE IF NOT EXISTS words (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    example_usage     text,
+    explanation       text,
+    language          varchar(255) NOT NULL,
+    original_word     varchar(255) NOT NULL,
+    proficiency_level integer      NOT NULL,
+    translation       varchar(255) NOT NULL
+);
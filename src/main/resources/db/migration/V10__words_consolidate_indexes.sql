@@ -0,0 +1,34 @@
+-- Zestaw indeksów words wyprowadzony z zapytań, które faktycznie wykonuje aplikacja
+-- V10__words_consolidate_indexes.sql
+--
+-- Każdy INSERT (także COPY z importu) i każda aktualizacja poziomu lub terminu powtórki - kolumny
+-- z indeksów, więc bez HOT - dopisuje wpis do każdego indeksu tabeli. Zostają tylko indeksy
+-- używane przez zapytania:
+--   words_pkey                             (id)                                     findById, deleteByIds, UPDATE ... unnest
+--   uq_words_language_original_translation (language_id, original_word, translation) ON CONFLICT importu, findByLanguageAndOriginalWordIn
+--   idx_words_language_level_random_key    (language_id, proficiency_level, random_key) losowanie i sesje (V6)
+--   idx_words_due                          (next_review_at, language_id)            kolejka i licznik powtórek (V7)
+--   idx_words_change_version               (change_version)                         synchronizacja przyrostowa (V5)
+--   idx_words_summary_covering             (id) INCLUDE (...)                       listy ?view=summary (V4)
+-- Filtr samego języka obsługuje dowolny z indeksów zaczynających się od language_id.
+
+-- 1. Prefiksy innych indeksów - (language_id) i częściowy (language_id, proficiency_level)
+--    zawierają się w (language_id, proficiency_level, random_key)
+DROP INDEX IF EXISTS idx_words_language;
+DROP INDEX IF EXISTS idx_words_learning_words;
+
+-- 2. Pary (id) i (proficiency_level, id) przy języku - id czytają tylko ścieżki dla baz bez struktur
+--    V6, na PostgreSQL wyłącznie dla pustych kubełków; żadne zapytanie nie sortuje po id w języku
+DROP INDEX IF EXISTS idx_words_language_id;
+DROP INDEX IF EXISTS idx_words_language_proficiency_id;
+
+-- 3. Pojedyncze kolumny bez zapytań: wyszukiwanie to LIKE '%...%' (pełny skan), słowa i tłumaczenia
+--    po kluczu naturalnym szuka indeks unikalny, a sam poziom nie jest filtrem żadnego zapytania
+DROP INDEX IF EXISTS idx_words_original_word;
+DROP INDEX IF EXISTS idx_words_translation;
+DROP INDEX IF EXISTS idx_words_proficiency_level;
+
+-- 4. B-drzewa na nieograniczonych kolumnach TEXT - nieużywane, a wpis powyżej ~2,7 kB (1/3 strony)
+--    blokowałby zapis słowa z długim wyjaśnieniem lub przykładem
+DROP INDEX IF EXISTS idx_words_explanation_not_null;
+DROP INDEX IF EXISTS idx_words_example_usage_not_null;
@@ -0,0 +1,26 @@
+-- Przejście words.id z IDENTITY/SERIAL na sekwencję z alokacją blokami po 50
+-- V2__words_id_sequence.sql
+--
+-- Przy IDENTITY Hibernate wyłącza batchowanie INSERT-ów (każdy wiersz to osobny round trip).
+-- Z sekwencją (optymalizator pooled-lo) jeden nextval rezerwuje 50 id, więc bulkImport
+-- i import CSV idą w prawdziwych batchach JDBC. Istniejące id pozostają bez zmian.
+
+-- 1. Kolumna utworzona przez Hibernate 6 jako IDENTITY - usuń tożsamość (i jej niejawną sekwencję)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'words' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE words ALTER COLUMN id DROP IDENTITY;
+    END IF;
+END $$;
+
+-- 2. Sekwencja (dla kolumn SERIAL już istnieje) z krokiem równym allocationSize w encji Word
+CREATE SEQUENCE IF NOT EXISTS words_id_seq;
+ALTER SEQUENCE words_id_seq INCREMENT BY 50 OWNED BY words.id;
+
+-- 3. DEFAULT zostaje dla INSERT-ów z SQL - pooled-lo traktuje wartość sekwencji jako początek bloku,
+--    więc nextval z DEFAULT zużywa cały blok i nie koliduje z id przydzielanymi przez Hibernate
+ALTER TABLE words ALTER COLUMN id SET DEFAULT nextval('words_id_seq');
+
+-- 4. Następny blok zaczyna się tuż za największym istniejącym id
+SELECT setval('words_id_seq', COALESCE((SELECT MAX(id) FROM words), 0) + 1, false);
@@ -0,0 +1,26 @@
+-- Unikalny klucz naturalny słowa: (language, original_word, translation)
+-- V3__words_natural_key_unique.sql
+--
+-- Wymagany przez import w trybie UPSERT (INSERT ... ON CONFLICT). Ponowny import tego samego
+-- CSV aktualizuje istniejące wiersze zamiast je duplikować.
+
+-- 1. Zachowaj najwyższy poziom opanowania z grupy duplikatów w wierszu o najniższym id
+UPDATE words w
+SET proficiency_level = g.max_level
+FROM (SELECT min(id) AS id, max(proficiency_level) AS max_level
+      FROM words
+      GROUP BY language, original_word, translation
+      HAVING count(*) > 1) g
+WHERE w.id = g.id;
+
+-- 2. Usuń pozostałe duplikaty
+DELETE FROM words w
+USING words d
+WHERE w.language = d.language
+  AND w.original_word = d.original_word
+  AND w.translation = d.translation
+  AND w.id > d.id;
+
+-- 3. Indeks unikalny - arbiter dla ON CONFLICT, przyspiesza też sprawdzanie duplikatów przy imporcie
+CREATE UNIQUE INDEX IF NOT EXISTS uq_words_language_original_translation
+    ON words(language, original_word, translation);
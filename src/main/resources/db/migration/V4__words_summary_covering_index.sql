@@ -0,0 +1,10 @@
+-- Indeks pokrywający dla list bez kolumn TEXT (GET /api/words?view=summary, /paginated?view=summary)
+-- V4__words_summary_covering_index.sql
+
+-- Kolejność po id + wąskie kolumny w INCLUDE: lista czyta tylko indeks (Index Only Scan),
+-- bez stron tabeli z example_usage i explanation. Wymaga aktualnej visibility map (autovacuum / VACUUM).
+CREATE INDEX IF NOT EXISTS idx_words_summary_covering
+    ON words (id) INCLUDE (original_word, translation, language, proficiency_level);
+
+-- Losowanie słowa (getRandomWord) czyta tylko (language, proficiency_level, id) -
+-- pokrywa je idx_words_language_proficiency_id z V1.
@@ -0,0 +1,58 @@
+-- Śledzenie zmian słów dla synchronizacji przyrostowej (GET /api/words/changes?since=<token>)
+-- V5__words_change_tracking.sql
+--
+-- change_version = 64-bitowy identyfikator transakcji (xid8), która ostatnio wstawiła/zmieniła wiersz.
+-- Token synchronizacji to xmin migawki odczytu (pg_snapshot_xmin): każda transakcja z xid poniżej
+-- tokenu była już zakończona w chwili odczytu, a późniejsze commity mają xid >= token - żadna zmiana
+-- nie ginie, nawet jeśli transakcje kończą się w innej kolejności, niż się zaczęły.
+
+-- 1. Kolumny - stałe wartości domyślne nie przepisują tabeli; istniejące wiersze dostają wersję 0
+ALTER TABLE words ADD COLUMN IF NOT EXISTS change_version bigint NOT NULL DEFAULT 0;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS updated_at timestamptz NOT NULL DEFAULT now();
+
+-- 2. Nowe wiersze (JPA, COPY/ON CONFLICT) - z wartości domyślnej, bez wyzwalacza na INSERT
+ALTER TABLE words ALTER COLUMN change_version SET DEFAULT pg_current_xact_id()::text::bigint;
+
+-- 3. Zmiany - wyzwalacz tylko gdy wiersz faktycznie się zmienił
+CREATE OR REPLACE FUNCTION words_touch_change_version() RETURNS trigger AS $$
+BEGIN
+    NEW.change_version := pg_current_xact_id()::text::bigint;
+    NEW.updated_at := now();
+    RETURN NEW;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_words_touch_change_version ON words;
+CREATE TRIGGER trg_words_touch_change_version
+    BEFORE UPDATE ON words
+    FOR EACH ROW
+    WHEN (OLD IS DISTINCT FROM NEW)
+    EXECUTE FUNCTION words_touch_change_version();
+
+-- 4. Nagrobki usuniętych słów (deleteWord, bulkDelete i każdy inny DELETE)
+CREATE TABLE IF NOT EXISTS word_tombstones (
+    word_id        bigint      PRIMARY KEY,
+    change_version bigint      NOT NULL,
+    deleted_at     timestamptz NOT NULL DEFAULT now()
+);
+
+-- Wyzwalacz na poziomie instrukcji z tabelą przejściową: jeden INSERT ... SELECT na DELETE,
+-- także dla paczek po 10 000 id z bulkDelete
+CREATE OR REPLACE FUNCTION words_record_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO word_tombstones (word_id, change_version, deleted_at)
+    SELECT id, pg_current_xact_id()::text::bigint, now() FROM deleted_words
+    ON CONFLICT (word_id) DO UPDATE SET change_version = EXCLUDED.change_version,
+                                        deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_words_record_tombstones ON words;
+CREATE TRIGGER trg_words_record_tombstones
+    AFTER DELETE ON words
+    REFERENCING OLD TABLE AS deleted_words
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION words_record_tombstones();
+
+-- 5. Indeksy po kolumnie zmian - zapytanie o zmiany czyta tylko zakres >= token
+CREATE INDEX IF NOT EXISTS idx_words_change_version ON words (change_version);
+CREATE INDEX IF NOT EXISTS idx_word_tombstones_change_version ON word_tombstones (change_version);
@@ -0,0 +1,93 @@
+-- Losowanie słowa ważone poziomem (GET /api/words/random) po stronie bazy
+-- V6__words_weighted_random.sql
+--
+-- Losowanie w dwóch krokach, oba niezależne od wielkości tabeli:
+-- 1. kubełek (language, proficiency_level) z word_level_counts - najwyżej 5 wierszy na język,
+--    waga kubełka = liczba słów * (6 - poziom),
+-- 2. słowo w kubełku - jedno zejście po indeksie (language, proficiency_level, random_key):
+--    pierwsze random_key >= losowa liczba z [0, 1), z zawinięciem na początek kubełka.
+-- Zmiana poziomu słowa przesuwa je tylko między dwoma kubełkami - bez przeliczania sum narastających.
+--
+-- Cała migracja w jednej transakcji (Flyway, psql -1): blokada z ALTER TABLE wstrzymuje zapisy do
+-- końca, więc liczniki startują zgodne z tabelą, a wyzwalacze przejmują je bez luki.
+
+-- 1. Losowa pozycja słowa w kubełku. Wartość domyślna random() jest liczona dla każdego wiersza,
+--    więc dodanie kolumny przepisuje tabelę (jednorazowo)
+ALTER TABLE words ADD COLUMN IF NOT EXISTS random_key double precision NOT NULL DEFAULT random();
+
+-- Zastępuje idx_words_language_proficiency z V1 - te same kolumny wiodące, jeden indeks mniej przy zapisie
+CREATE INDEX IF NOT EXISTS idx_words_language_level_random_key
+    ON words (language, proficiency_level, random_key);
+DROP INDEX IF EXISTS idx_words_language_proficiency;
+
+-- 2. Liczniki słów per kubełek
+CREATE TABLE IF NOT EXISTS word_level_counts (
+    language          varchar(255) NOT NULL,
+    proficiency_level integer      NOT NULL,
+    word_count        bigint       NOT NULL,
+    PRIMARY KEY (language, proficiency_level)
+);
+
+INSERT INTO word_level_counts (language, proficiency_level, word_count)
+SELECT language, proficiency_level, count(*) FROM words GROUP BY language, proficiency_level
+ON CONFLICT (language, proficiency_level) DO UPDATE SET word_count = EXCLUDED.word_count;
+
+-- 3. Utrzymanie liczników - wyzwalacze na poziomie instrukcji z tabelami przejściowymi: jeden
+--    upsert na INSERT/UPDATE/DELETE, także dla importu COPY i paczek bulkDelete. Upsert w stałej
+--    kolejności kubełków, żeby równoległe transakcje nie zakleszczały się na wierszach liczników
+CREATE OR REPLACE FUNCTION words_count_levels() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO word_level_counts (language, proficiency_level, word_count)
+        SELECT language, proficiency_level, count(*) FROM new_words
+        GROUP BY language, proficiency_level
+        ORDER BY language, proficiency_level
+        ON CONFLICT (language, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO word_level_counts (language, proficiency_level, word_count)
+        SELECT language, proficiency_level, -count(*) FROM old_words
+        GROUP BY language, proficiency_level
+        ORDER BY language, proficiency_level
+        ON CONFLICT (language, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    ELSE
+        INSERT INTO word_level_counts (language, proficiency_level, word_count)
+        SELECT language, proficiency_level, sum(delta) FROM (
+            SELECT o.language, o.proficiency_level, -1 AS delta
+            FROM old_words o JOIN new_words n ON n.id = o.id
+            WHERE (o.language, o.proficiency_level) IS DISTINCT FROM (n.language, n.proficiency_level)
+            UNION ALL
+            SELECT n.language, n.proficiency_level, 1
+            FROM old_words o JOIN new_words n ON n.id = o.id
+            WHERE (o.language, o.proficiency_level) IS DISTINCT FROM (n.language, n.proficiency_level)
+        ) moved
+        GROUP BY language, proficiency_level
+        HAVING sum(delta) <> 0
+        ORDER BY language, proficiency_level
+        ON CONFLICT (language, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_words_count_levels_insert ON words;
+CREATE TRIGGER trg_words_count_levels_insert
+    AFTER INSERT ON words
+    REFERENCING NEW TABLE AS new_words
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION words_count_levels();
+
+DROP TRIGGER IF EXISTS trg_words_count_levels_update ON words;
+CREATE TRIGGER trg_words_count_levels_update
+    AFTER UPDATE ON words
+    REFERENCING OLD TABLE AS old_words NEW TABLE AS new_words
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION words_count_levels();
+
+DROP TRIGGER IF EXISTS trg_words_count_levels_delete ON words;
+CREATE TRIGGER trg_words_count_levels_delete
+    AFTER DELETE ON words
+    REFERENCING OLD TABLE AS old_words
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION words_count_levels();
@@ -0,0 +1,27 @@
+-- Powtórki rozłożone w czasie (SM-2): stan harmonogramu per słowo i kolejka zaległych powtórek
+-- V7__words_spaced_repetition.sql
+--
+-- Kolumny zapisuje SpacedRepetitionScheduler po każdej odpowiedzi (/check, /session/answers).
+-- "Następna karta" i licznik zaległych to zakres next_review_at <= now() na jednym indeksie -
+-- koszt zależy od liczby zaległych słów, nie od wielkości słownika.
+
+-- 1. Stan SM-2 - stałe wartości domyślne nie przepisują tabeli; nowe słowa są od razu do powtórki
+ALTER TABLE words ADD COLUMN IF NOT EXISTS ease_factor double precision NOT NULL DEFAULT 2.5;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS review_interval_days integer NOT NULL DEFAULT 0;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS repetitions integer NOT NULL DEFAULT 0;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS next_review_at timestamptz NOT NULL DEFAULT now();
+
+-- 2. Istniejące słowa: poziom N traktowany jak N-1 udanych powtórek (interwały SM-2: 1, 6, 15, 38 dni),
+--    termin rozłożony losowo w obrębie interwału, żeby całe słownictwo nie wróciło jednego dnia.
+--    Poziom 1 zostaje do powtórki od razu
+UPDATE words
+SET repetitions          = proficiency_level - 1,
+    review_interval_days = (ARRAY[1, 6, 15, 38])[proficiency_level - 1],
+    next_review_at       = now() + (ARRAY[1, 6, 15, 38])[proficiency_level - 1] * random() * interval '1 day'
+WHERE proficiency_level BETWEEN 2 AND 5 AND repetitions = 0;
+
+-- 3. Kolejka powtórek. Indeks częściowy nie może zależeć od now(), więc pełny indeks z next_review_at
+--    na początku: "WHERE next_review_at <= now() ORDER BY next_review_at LIMIT k" czyta tylko zaległy
+--    zakres i kończy po k wierszach; warunek na language jest sprawdzany w samym indeksie, a licznik
+--    zaległych to Index Only Scan
+CREATE INDEX IF NOT EXISTS idx_words_due ON words (next_review_at, language);
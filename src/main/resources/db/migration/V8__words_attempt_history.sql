@@ -0,0 +1,13 @@
+-- Historia odpowiedzi per słowo w stałym rozmiarze (AttemptHistory)
+-- V8__words_attempt_history.sql
+--
+-- Zamiast wiersza na każdą odpowiedź: ostatnie 64 odpowiedzi jako bity jednego bigint (bit 0 =
+-- najnowsza, 1 = poprawna) i liczniki od początku. Kolumny są aktualizowane operacjami bitowymi
+-- w tym samym UPDATE co poziom i harmonogram powtórek - bez dodatkowych zapisów i bez nowej tabeli.
+-- Skuteczność ostatnich odpowiedzi to popcount (Long.bitCount, w SQL bit_count(attempt_history::bit(64))),
+-- seria - liczba końcowych jedynek/zer.
+
+-- Stałe wartości domyślne nie przepisują tabeli
+ALTER TABLE words ADD COLUMN IF NOT EXISTS attempt_history bigint  NOT NULL DEFAULT 0;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS attempt_count   integer NOT NULL DEFAULT 0;
+ALTER TABLE words ADD COLUMN IF NOT EXISTS correct_count   integer NOT NULL DEFAULT 0;
@@ -0,0 +1,76 @@
+-- Słownik języków: words.language jako klucz smallint zamiast powtarzanego w każdym wierszu varchar
+-- V9__languages_dictionary.sql
+--
+-- API nadal posługuje się kodami języków - Word.language mapuje LanguageCodeConverter przez
+-- LanguageDictionary (kody w pamięci). Kolumna ma 2 bajty zamiast 1 + długość kodu, tak samo każdy
+-- z indeksów z językiem (V1, V3, V4, V6, V7).
+--
+-- Cała migracja w jednej transakcji: ALTER ... TYPE przepisuje tabelę raz i sam przebudowuje
+-- wszystkie indeksy i ograniczenia na tej kolumnie (nazwy zostają), bez UPDATE wiersz po wierszu -
+-- wyzwalacze z V5 i V6 nie są uruchamiane, change_version się nie zmienia, nic nie puchnie.
+-- Blokada ACCESS EXCLUSIVE trwa do końca migracji; nowa wersja aplikacji startuje po niej.
+
+-- 1. Słownik - identyfikatory nadaje baza, nowe języki dopisuje LanguageDictionary.register
+CREATE TABLE IF NOT EXISTS languages (
+    id   smallint     GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code varchar(255) NOT NULL UNIQUE
+);
+
+INSERT INTO languages (code)
+SELECT language FROM words
+UNION
+SELECT language FROM word_level_counts
+ORDER BY 1
+ON CONFLICT (code) DO NOTHING;
+
+-- USING nie dopuszcza podzapytań - wyszukanie w słowniku przez funkcję tymczasową
+CREATE FUNCTION pg_temp.language_id(code varchar) RETURNS smallint
+    LANGUAGE sql STABLE AS 'SELECT id FROM languages WHERE languages.code = language_id.code';
+
+-- 2. words.language -> words.language_id
+ALTER TABLE words ALTER COLUMN language TYPE smallint USING pg_temp.language_id(language);
+ALTER TABLE words RENAME COLUMN language TO language_id;
+ALTER TABLE words ADD CONSTRAINT fk_words_language FOREIGN KEY (language_id) REFERENCES languages (id);
+
+-- 3. Liczniki kubełków z V6 - ten sam klucz
+ALTER TABLE word_level_counts ALTER COLUMN language TYPE smallint USING pg_temp.language_id(language);
+ALTER TABLE word_level_counts RENAME COLUMN language TO language_id;
+
+-- Wyzwalacze z V6 bez zmian, tylko funkcja czyta nową kolumnę z tabel przejściowych
+CREATE OR REPLACE FUNCTION words_count_levels() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO word_level_counts (language_id, proficiency_level, word_count)
+        SELECT language_id, proficiency_level, count(*) FROM new_words
+        GROUP BY language_id, proficiency_level
+        ORDER BY language_id, proficiency_level
+        ON CONFLICT (language_id, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO word_level_counts (language_id, proficiency_level, word_count)
+        SELECT language_id, proficiency_level, -count(*) FROM old_words
+        GROUP BY language_id, proficiency_level
+        ORDER BY language_id, proficiency_level
+        ON CONFLICT (language_id, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    ELSE
+        INSERT INTO word_level_counts (language_id, proficiency_level, word_count)
+        SELECT language_id, proficiency_level, sum(delta) FROM (
+            SELECT o.language_id, o.proficiency_level, -1 AS delta
+            FROM old_words o JOIN new_words n ON n.id = o.id
+            WHERE (o.language_id, o.proficiency_level) IS DISTINCT FROM (n.language_id, n.proficiency_level)
+            UNION ALL
+            SELECT n.language_id, n.proficiency_level, 1
+            FROM old_words o JOIN new_words n ON n.id = o.id
+            WHERE (o.language_id, o.proficiency_level) IS DISTINCT FROM (n.language_id, n.proficiency_level)
+        ) moved
+        GROUP BY language_id, proficiency_level
+        HAVING sum(delta) <> 0
+        ORDER BY language_id, proficiency_level
+        ON CONFLICT (language_id, proficiency_level)
+            DO UPDATE SET word_count = word_level_counts.word_count + EXCLUDED.word_count;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP FUNCTION pg_temp.language_id(varchar);
@@ -0,0 +1,89 @@
+package com.example.languagelearning.config;
+
+import com.example.languagelearning.dto.GrammarPracticeResponse;
+import com.example.languagelearning.dto.TranslationCheckResponse;
+import com.example.languagelearning.model.Word;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryFormatsConfigTest {
+
+    private final BinaryFormatsConfig config = new BinaryFormatsConfig();
+    private final ObjectMapper jsonMapper = builder().build();
+    private final ObjectMapper cborMapper = config.cborHttpMessageConverter(builder()).getObjectMapper();
+    private final ObjectMapper smileMapper = config.smileHttpMessageConverter(builder()).getObjectMapper();
+
+    @Test
+    void converters_shouldUseBinaryFactories() {
+        assertThat(cborMapper.getFactory()).isInstanceOf(CBORFactory.class);
+        assertThat(smileMapper.getFactory()).isInstanceOf(SmileFactory.class);
+    }
+
+    @Test
+    void writeValue_shouldRoundTripWordListSmallerThanJson() throws Exception {
+        // given
+        List<Word> words = words(1000);
+        int jsonSize = jsonMapper.writeValueAsBytes(words).length;
+
+        for (ObjectMapper binaryMapper : List.of(cborMapper, smileMapper)) {
+            // when
+            byte[] bytes = binaryMapper.writeValueAsBytes(words);
+
+            // then
+            assertThat(binaryMapper.readValue(bytes, new TypeReference<List<Word>>() {})).isEqualTo(words);
+            assertThat(bytes.length).isLessThan(jsonSize);
+        }
+    }
+
+    @Test
+    void writeValue_shouldMatchJsonContentOfPageAndPracticeResponses() throws Exception {
+        // given
+        List<Object> responses = List.of(
+                new PageImpl<>(words(20), PageRequest.of(0, 20), 1000),
+                new TranslationCheckResponse(true, "kot", "Mam kota.", "rzeczownik", "Correct!"),
+                new GrammarPracticeResponse(words(1).get(0), "Past Simple", false, "Almost", "I went", "Irregular verb", null));
+
+        for (Object response : responses) {
+            for (ObjectMapper binaryMapper : List.of(cborMapper, smileMapper)) {
+                // when
+                byte[] bytes = binaryMapper.writeValueAsBytes(response);
+
+                // then
+                assertThat(jsonMapper.writeValueAsString(binaryMapper.readTree(bytes)))
+                        .isEqualTo(jsonMapper.writeValueAsString(response));
+            }
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        // Daty jako ISO-8601, jak w domyślnej konfiguracji Spring Boot
+        return new Jackson2ObjectMapperBuilder().modulesToInstall(new BinaryFormatsConfig().blackbirdModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<Word> words(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            Word word = new Word();
+            word.setId(id);
+            word.setOriginalWord("słowo " + id);
+            word.setTranslation("word " + id);
+            word.setLanguage("polish");
+            word.setProficiencyLevel((int) (id % 5) + 1);
+            word.setExampleUsage("Przykład użycia słowa " + id);
+            word.setExplanation("Objaśnienie " + id);
+            return word;
+        }).toList();
+    }
+}
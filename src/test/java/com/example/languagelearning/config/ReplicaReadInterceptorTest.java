@@ -0,0 +1,109 @@
+package com.example.languagelearning.config;
+
+import com.example.languagelearning.service.VocabularyVersionService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaReadInterceptorTest {
+
+    private final DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+
+    @Mock
+    private VocabularyVersionService vocabularyVersionService;
+
+    private ReplicaReadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        interceptor = new ReplicaReadInterceptor(properties, vocabularyVersionService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaReadContext.clear();
+    }
+
+    @Test
+    void preHandle_shouldAllowReplicaForPlainRead() throws NoSuchMethodException {
+        interceptor.preHandle(get(), new MockHttpServletResponse(), handler("plainRead"));
+
+        assertThat(ReplicaReadContext.isReplicaAllowed()).isTrue();
+        assertThat(ReplicaReadContext.requiredWalPosition()).isEqualTo(ReplicaReadContext.ANY_POSITION);
+    }
+
+    @Test
+    void preHandle_shouldRequireReplicaAtRecordedWalPositionForVersionTaggedRead() throws NoSuchMethodException {
+        when(vocabularyVersionService.walPosition()).thenReturn(0x16B374D848L);
+
+        interceptor.preHandle(get(), new MockHttpServletResponse(), handler("taggedRead"));
+
+        // tylko replika, która odtworzyła WAL do ostatniego podbicia wersji z ETagu
+        assertThat(ReplicaReadContext.isReplicaAllowed()).isTrue();
+        assertThat(ReplicaReadContext.requiredWalPosition()).isEqualTo(0x16B374D848L);
+    }
+
+    @Test
+    void preHandle_shouldKeepVersionTaggedReadWithoutRecordedWalPositionOnPrimary() throws NoSuchMethodException {
+        // brak pozycji (Redis niedostępny, pierwsze podbicie jeszcze nie nastąpiło) - nie da się sprawdzić repliki
+        when(vocabularyVersionService.walPosition()).thenReturn(VocabularyVersionService.UNAVAILABLE);
+
+        interceptor.preHandle(get(), new MockHttpServletResponse(), handler("taggedRead"));
+
+        assertThat(ReplicaReadContext.isReplicaAllowed()).isFalse();
+    }
+
+    @Test
+    void preHandle_shouldKeepCachedReadOnPrimary() throws NoSuchMethodException {
+        // wspólny cache - odczyt z opóźnionej repliki zostałby utrwalony dla wszystkich klientów
+        interceptor.preHandle(get(), new MockHttpServletResponse(), handler("cachedRead"));
+
+        assertThat(ReplicaReadContext.isReplicaAllowed()).isFalse();
+        verifyNoInteractions(vocabularyVersionService);
+    }
+
+    @Test
+    void preHandle_shouldKeepReadInsideStickinessWindowOnPrimary() throws NoSuchMethodException {
+        MockHttpServletRequest request = get();
+        request.setCookies(new Cookie(properties.getStickinessCookie(),
+                Long.toString(System.currentTimeMillis() + 60_000)));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("plainRead"));
+
+        assertThat(ReplicaReadContext.isReplicaAllowed()).isFalse();
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/words");
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(name));
+    }
+
+    static class Handlers {
+        void plainRead() {
+        }
+
+        @VocabularyETag
+        void taggedRead() {
+        }
+
+        @VocabularyETag(cached = true)
+        void cachedRead() {
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.languagelearning.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each knows its own name.
+ * The replica's {@code pg_last_wal_replay_lsn()} is an alias returning {@link Standby#replayed}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaReadContext.clear();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void getConnection_shouldUseReplicaForReadOnlyTransactionWhenAllowed() {
+        ReplicaReadContext.allowReplicaReads();
+
+        assertThat(serverName(routing(replica), true)).isEqualTo("replica");
+        assertThat(reads("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldStayOnPrimaryWithoutReplicaPermission() {
+        // wątek w oknie read-your-writes albo zadanie w tle
+        assertThat(serverName(routing(replica), true)).isEqualTo("primary");
+        assertThat(reads("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForReadWriteTransaction() {
+        ReplicaReadContext.allowReplicaReads();
+
+        assertThat(serverName(routing(replica), false)).isEqualTo("primary");
+        assertThat(reads("replica")).isZero();
+    }
+
+    @Test
+    void getConnection_shouldUseReplicaThatReplayedRequiredWalPosition() {
+        Standby.replayed = "1/0";
+        ReplicaReadContext.allowReplicaReadsFrom(0xFFFFFFFFL);
+
+        assertThat(serverName(routing(replica), true)).isEqualTo("replica");
+        assertThat(reads("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldPassOverReplicaBehindRequiredWalPosition() {
+        Standby.replayed = "0/FFFFFFFF";
+        ReplicaReadContext.allowReplicaReadsFrom(0x100000000L);
+
+        DataSource dataSource = routing(replica);
+
+        assertThat(serverName(dataSource, true)).isEqualTo("primary");
+        assertThat(reads("lagging")).isEqualTo(1);
+        // opóźnienie jest chwilowe - replika nie jest pomijana przy kolejnym odczycie
+        Standby.replayed = "1/0";
+        assertThat(serverName(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void getConnection_shouldServeExplicitCredentialsFromPrimary() throws SQLException {
+        ReplicaReadContext.allowReplicaReads();
+        DataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30), meterRegistry);
+
+        try (Connection connection = dataSource.getConnection("sa", "")) {
+            assertThat(new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM server", String.class)).isEqualTo("primary");
+        }
+        assertThat(reads("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void parse_shouldReadWalPositionAsNumber() {
+        assertThat(PrimaryWalPosition.parse("16/B374D848")).isEqualTo(0x16B374D848L);
+        assertThat(PrimaryWalPosition.parse("0/0")).isZero();
+    }
+
+    @Test
+    void getConnection_shouldFallBackToPrimaryAndSkipUnavailableReplicaUntilRetry() {
+        ReplicaReadContext.allowReplicaReads();
+        AtomicInteger failedAttempts = new AtomicInteger();
+        DataSource broken = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                failedAttempts.incrementAndGet();
+                throw new SQLException("Connection refused");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+
+        DataSource dataSource = routing(broken);
+
+        assertThat(serverName(dataSource, true)).isEqualTo("primary");
+        assertThat(serverName(dataSource, true)).isEqualTo("primary");
+        assertThat(reads("fallback")).isEqualTo(2);
+        assertThat(failedAttempts.get()).isEqualTo(1);
+    }
+
+    private DataSource routing(DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, List.of(replicaDataSource),
+                Duration.ofSeconds(30), meterRegistry));
+        return dataSource;
+    }
+
+    private static String serverName(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.routing.reads").tag("target", target).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO server VALUES (?)", name);
+        jdbcTemplate.execute("CREATE ALIAS pg_last_wal_replay_lsn FOR \"" + Standby.class.getName() + ".replayed\"");
+        return dataSource;
+    }
+
+    public static class Standby {
+
+        static volatile String replayed;
+
+        public static String replayed() {
+            return replayed;
+        }
+    }
+}
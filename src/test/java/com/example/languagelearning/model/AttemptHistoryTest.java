@@ -0,0 +1,52 @@
+package com.example.languagelearning.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttemptHistoryTest {
+
+    @Test
+    void append_shouldEqualRecordingAnswersOneByOne() {
+        AttemptHistory stored = AttemptHistory.EMPTY.record(true).record(false);
+        boolean[] answers = {true, true, false, true};
+
+        AttemptHistory oneByOne = stored;
+        AttemptHistory batch = AttemptHistory.EMPTY;
+        for (boolean answer : answers) {
+            oneByOne = oneByOne.record(answer);
+            batch = batch.record(answer);
+        }
+
+        assertThat(stored.append(batch)).isEqualTo(oneByOne);
+        assertThat(oneByOne).isEqualTo(new AttemptHistory(0b101101L, 6, 4));
+    }
+
+    @Test
+    void record_shouldKeepOnlyLastSixtyFourAnswers() {
+        AttemptHistory history = AttemptHistory.EMPTY.record(false);
+        AttemptHistory fullWindow = AttemptHistory.EMPTY;
+        for (int i = 0; i < AttemptHistory.CAPACITY; i++) {
+            history = history.record(true);
+            fullWindow = fullWindow.record(true);
+        }
+
+        assertThat(history.bits()).isEqualTo(-1L);
+        assertThat(history.attempts()).isEqualTo(65);
+        assertThat(history.recentAccuracy()).isEqualTo(1.0);
+        assertThat(history.correctStreak()).isEqualTo(64);
+        // Paczka 64 odpowiedzi zastępuje całe okno - przesunięcie o 64 w Javie byłoby przesunięciem o 0
+        assertThat(AttemptHistory.EMPTY.record(false).append(fullWindow).bits()).isEqualTo(-1L);
+    }
+
+    @Test
+    void streaks_shouldCountOnlyRecordedAnswers() {
+        AttemptHistory wrongTwice = AttemptHistory.EMPTY.record(false).record(false);
+
+        assertThat(wrongTwice.incorrectStreak()).isEqualTo(2);
+        assertThat(wrongTwice.correctStreak()).isZero();
+        assertThat(wrongTwice.recentAccuracy()).isZero();
+        assertThat(AttemptHistory.EMPTY.recentAccuracy()).isNull();
+        assertThat(AttemptHistory.EMPTY.incorrectStreak()).isZero();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.languagelearning.repository;
+
+import com.example.languagelearning.support.PostgresTestDatabase;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migration V9 on data written before it: words and level counters with varchar language codes,
+ * converted in place to keys of the {@code languages} table.
+ */
+@EnabledIf(PostgresTestDatabase.AVAILABLE)
+class LanguagesMigrationPostgresTest {
+
+    private static final String VERSIONS_SQL =
+            "SELECT sum(change_version) AS versions, max(updated_at) AS updated FROM words";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = PostgresTestDatabase.dataSource(PostgresTestDatabase.createDatabase());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void v9_shouldMapLanguageCodesToDictionaryKeys() {
+        // given - schemat sprzed V9 z danymi
+        migrate("8");
+        for (String[] row : List.of(new String[]{"hello", "cześć", "english"},
+                new String[]{"house", "dom", "english"}, new String[]{"Haus", "dom", "german"})) {
+            jdbcTemplate.update("INSERT INTO words (original_word, translation, language, proficiency_level) "
+                    + "VALUES (?, ?, ?, 1)", (Object[]) row);
+        }
+        Map<String, Object> versionsBefore = jdbcTemplate.queryForMap(VERSIONS_SQL);
+
+        // when
+        migrate(null);
+
+        // then - słownik z kodami, klucze w words i w licznikach, bez przepisywania wersji zmian
+        Map<String, Short> ids = jdbcTemplate.query("SELECT id, code FROM languages", rs -> {
+            Map<String, Short> result = new HashMap<>();
+            while (rs.next()) {
+                result.put(rs.getString("code"), rs.getShort("id"));
+            }
+            return result;
+        });
+        assertThat(ids).containsOnlyKeys("english", "german");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT language_id FROM words WHERE translation = 'dom' ORDER BY original_word", Short.class))
+                .containsExactly(ids.get("german"), ids.get("english"));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns WHERE table_name IN ('words', 'word_level_counts') "
+                        + "AND column_name = 'language_id'", String.class)).containsExactly("smallint", "smallint");
+        assertThat(jdbcTemplate.queryForMap(VERSIONS_SQL)).isEqualTo(versionsBefore);
+        assertThat(levelCount(ids.get("english"))).isEqualTo(2);
+
+        // wyzwalacze liczników czytają nową kolumnę, indeks unikalny przebudowany pod tą samą nazwą
+        jdbcTemplate.update("INSERT INTO words (original_word, translation, language_id, proficiency_level) "
+                + "VALUES ('tree', 'drzewo', ?, 1)", ids.get("english"));
+        assertThat(levelCount(ids.get("english"))).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT indexdef FROM pg_indexes "
+                + "WHERE indexname = 'uq_words_language_original_translation'", String.class))
+                .contains("UNIQUE", "(language_id, original_word, translation)");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'fk_words_language'", Long.class)).isEqualTo(1);
+    }
+
+    private long levelCount(short languageId) {
+        return jdbcTemplate.queryForObject("SELECT word_count FROM word_level_counts "
+                + "WHERE language_id = ? AND proficiency_level = 1", Long.class, languageId);
+    }
+
+    private void migrate(String target) {
+        FluentConfiguration configuration = Flyway.configure().dataSource(dataSource);
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+}
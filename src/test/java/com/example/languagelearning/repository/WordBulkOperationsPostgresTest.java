@@ -0,0 +1,326 @@
+package com.example.languagelearning.repository;
+
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportResult;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.model.AttemptHistory;
+import com.example.languagelearning.model.LanguageDictionary;
+import com.example.languagelearning.model.ReviewState;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The PostgreSQL-only paths of {@link WordBulkOperations} on a real server, with the schema from the
+ * Flyway migrations. Runs without the test transaction, so every call commits like in production.
+ */
+@EnabledIf(PostgresTestDatabase.AVAILABLE)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WordBulkOperations.class, LanguageDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WordBulkOperationsPostgresTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.registerProperties(registry);
+    }
+
+    @Autowired
+    private WordBulkOperations wordBulkOperations;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE words, word_tombstones, word_level_counts");
+    }
+
+    @Test
+    void load_shouldMergeOnNaturalKeyAndSplitInsertedFromUpdated() {
+        // given
+        wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null)),
+                ImportMode.INSERT, false);
+
+        // when - zmieniony, niezmieniony, nowy, powtórzony w danych i odrzucony wiersz
+        ImportResult result = wordBulkOperations.load(List.of(
+                word("hello", "cześć", "greeting"),
+                word("house", "dom", null),
+                word("tree", "drzewo", null),
+                word("tree", "drzewo", "second occurrence"),
+                word(" ", "pusty", null)), ImportMode.UPSERT, true);
+
+        // then - xmax = 0 tylko dla wierszy wstawionych przez INSERT ... ON CONFLICT
+        assertThat(result.summary()).isEqualTo(new ImportSummary(5, 1, 1, 1, 1, 1));
+        assertThat(result.affectedWords())
+                .extracting(Word::getOriginalWord, Word::getExplanation)
+                .containsExactlyInAnyOrder(
+                        tuple("hello", "greeting"),
+                        tuple("tree", null));
+        assertThat(wordRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void load_shouldNotTouchExistingRowsInInsertMode() {
+        // given
+        Long id = wordBulkOperations.load(List.of(word("hello", "cześć", "greeting")), ImportMode.INSERT, true)
+                .affectedWords().get(0).getId();
+
+        // when
+        ImportResult result = wordBulkOperations.load(List.of(word("hello", "cześć", "changed")),
+                ImportMode.INSERT, true);
+
+        // then
+        assertThat(result.summary()).isEqualTo(new ImportSummary(1, 0, 0, 1, 0, 0));
+        assertThat(result.affectedWords()).isEmpty();
+        assertThat(wordRepository.findById(id)).get().extracting(Word::getExplanation).isEqualTo("greeting");
+    }
+
+    @Test
+    void load_shouldReuseIdsOfExistingKeysAndShareSequenceWithEntities() {
+        // given
+        Long id = wordBulkOperations.load(List.of(word("hello", "cześć", null)), ImportMode.INSERT, true)
+                .affectedWords().get(0).getId();
+
+        // when
+        List<Word> affected = wordBulkOperations.load(List.of(word("hello", "cześć", "greeting"),
+                word("tree", "drzewo", null)), ImportMode.UPSERT, true).affectedWords();
+        Word saved = wordRepository.save(word("car", "samochód", null));
+
+        // then - id z bloków words_id_seq, bez kolizji z encjami zapisywanymi przez Hibernate
+        assertThat(affected).extracting(Word::getId).contains(id).doesNotHaveDuplicates();
+        assertThat(saved.getId()).isNotIn(affected.stream().map(Word::getId).toList());
+        assertThat(wordRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void forEachChangeSince_shouldReturnChangesAndTombstonesAfterToken() {
+        // given
+        List<Word> words = wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null),
+                word("tree", "drzewo", null)), ImportMode.INSERT, true).affectedWords();
+        long token = wordBulkOperations.forEachChangeSince(0, word -> { }, id -> { });
+        Long changed = words.get(0).getId();
+        Long unchanged = words.get(1).getId();
+        Long deleted = words.get(2).getId();
+
+        // when - zmiana, UPDATE bez zmiany wartości (bez nowej wersji), nowe słowo i usunięcie
+        jdbcTemplate.update("UPDATE words SET explanation = 'greeting' WHERE id = ?", changed);
+        jdbcTemplate.update("UPDATE words SET explanation = explanation WHERE id = ?", unchanged);
+        Long inserted = wordBulkOperations.load(List.of(word("car", "samochód", null)), ImportMode.INSERT, true)
+                .affectedWords().get(0).getId();
+        wordBulkOperations.deleteByIds(List.of(deleted));
+
+        List<Word> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        long nextToken = wordBulkOperations.forEachChangeSince(token, upserts::add, deletes::add);
+
+        // then
+        assertThat(upserts).extracting(Word::getId).containsExactlyInAnyOrder(changed, inserted);
+        assertThat(deletes).containsExactly(deleted);
+        assertThat(nextToken).isGreaterThan(token);
+        assertThat(wordBulkOperations.forEachChangeSince(nextToken, upserts::add, deletes::add)).isEqualTo(nextToken);
+        assertThat(upserts).hasSize(2);
+        assertThat(deletes).hasSize(1);
+    }
+
+    @Test
+    void forEachChangeSince_shouldNotSkipTransactionStillOpenWhenTokenWasTaken() throws Exception {
+        // given - transakcja z xid nadanym przed odczytem, zatwierdzona po nim
+        Long id = wordBulkOperations.load(List.of(word("hello", "cześć", null)), ImportMode.INSERT, true)
+                .affectedWords().get(0).getId();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE words SET explanation = 'late commit' WHERE id = " + id);
+            }
+            long token = wordBulkOperations.forEachChangeSince(0, word -> { }, deletedId -> { });
+
+            // when
+            connection.commit();
+            List<Word> upserts = new ArrayList<>();
+            wordBulkOperations.forEachChangeSince(token, upserts::add, deletedId -> { });
+
+            // then
+            assertThat(upserts).extracting(Word::getId, Word::getExplanation).containsExactly(tuple(id, "late commit"));
+        }
+    }
+
+    @Test
+    void levelCounters_shouldFollowInsertsLevelChangesAndDeletes() {
+        // given
+        List<Word> words = wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null),
+                word("tree", "drzewo", null)), ImportMode.INSERT, true).affectedWords();
+
+        // when - jedno słowo przechodzi na poziom 3, drugie jest usuwane
+        jdbcTemplate.update("UPDATE words SET proficiency_level = 3 WHERE id = ?", words.get(0).getId());
+        jdbcTemplate.update("UPDATE words SET explanation = 'no level change' WHERE id = ?", words.get(1).getId());
+        wordBulkOperations.deleteByIds(List.of(words.get(2).getId()));
+
+        // then - pusty kubełek zostaje w tabeli z licznikiem 0, ale nie jest zwracany
+        assertThat(wordBulkOperations.findLevelCounts("english")).containsExactlyInAnyOrder(
+                new WordBulkOperations.LevelCount("english", 1, 1),
+                new WordBulkOperations.LevelCount("english", 3, 1));
+        assertThat(wordBulkOperations.findLevelCounts("german")).isEmpty();
+        assertThat(wordBulkOperations.recountLevels())
+                .containsExactlyInAnyOrderElementsOf(wordBulkOperations.findLevelCounts(null));
+    }
+
+    @Test
+    void recountLevels_shouldRepairDriftedCounters() {
+        // given - liczniki rozjechane z tabelą: za duży, brakujący i osierocony kubełek
+        wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null)),
+                ImportMode.INSERT, false);
+        jdbcTemplate.update("INSERT INTO words (id, original_word, translation, language_id, proficiency_level) "
+                + "SELECT nextval('words_id_seq'), 'tree', 'drzewo', language_id, 2 FROM words LIMIT 1");
+        jdbcTemplate.update("UPDATE word_level_counts SET word_count = 10 WHERE proficiency_level = 1");
+        jdbcTemplate.update("DELETE FROM word_level_counts WHERE proficiency_level = 2");
+        jdbcTemplate.update("INSERT INTO word_level_counts (language_id, proficiency_level, word_count) "
+                + "SELECT language_id, 5, 4 FROM words LIMIT 1");
+
+        // when
+        List<WordBulkOperations.LevelCount> actual = wordBulkOperations.recountLevels();
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder(
+                new WordBulkOperations.LevelCount("english", 1, 2),
+                new WordBulkOperations.LevelCount("english", 2, 1));
+        assertThat(wordBulkOperations.findLevelCounts("english")).containsExactlyInAnyOrderElementsOf(actual);
+    }
+
+    @Test
+    void findWordAtRandomKey_shouldTakeNextKeyAndWrapAround() {
+        // given
+        List<Word> words = wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null)),
+                ImportMode.INSERT, true).affectedWords();
+        Long low = words.get(0).getId();
+        Long high = words.get(1).getId();
+        jdbcTemplate.update("UPDATE words SET random_key = 0.2 WHERE id = ?", low);
+        jdbcTemplate.update("UPDATE words SET random_key = 0.5 WHERE id = ?", high);
+
+        // when / then - klucz za ostatnim słowem kubełka zawija na pierwsze
+        assertThat(idAtRandomKey(1, 0.1)).isEqualTo(low);
+        assertThat(idAtRandomKey(1, 0.3)).isEqualTo(high);
+        assertThat(idAtRandomKey(1, 0.5)).isEqualTo(high);
+        assertThat(idAtRandomKey(1, 0.9)).isEqualTo(low);
+        assertThat(idAtRandomKey(2, 0.3)).isNull();
+        assertThat(wordBulkOperations.findWordAtRandomKey("german", 1, 0.3)).isEmpty();
+
+        // jedna instrukcja dla wielu kluczy - słowa w kolejności kluczy, pusty kubełek bez wiersza
+        assertThat(wordBulkOperations.findWordsAtRandomKeys(List.of(
+                new WordBulkOperations.BucketKey("english", 1, 0.9),
+                new WordBulkOperations.BucketKey("english", 2, 0.3),
+                new WordBulkOperations.BucketKey("english", 1, 0.3),
+                new WordBulkOperations.BucketKey("english", 1, 0.95))))
+                .extracting(Word::getId).containsExactly(low, high, low);
+    }
+
+    @Test
+    void updateReviewStates_shouldWriteEveryWordWithOneStatement() {
+        // given
+        List<Word> words = wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null),
+                word("tree", "drzewo", null)), ImportMode.INSERT, true).affectedWords();
+        Instant nextReview = Instant.parse("2030-01-02T03:04:05.678Z");
+        Map<Long, ReviewState> states = new LinkedHashMap<>();
+        Map<Long, AttemptHistory> attempts = new HashMap<>();
+        for (int i = 0; i < words.size(); i++) {
+            states.put(words.get(i).getId(), new ReviewState(i + 2, 1.3 + i, i * 3, i, nextReview.plusSeconds(i)));
+            attempts.put(words.get(i).getId(), new AttemptHistory(1L, 1, 1));
+        }
+        jdbcTemplate.update("UPDATE words SET random_key = 1");
+        // nieznane id - pomijane, bez błędu
+        states.put(-1L, new ReviewState(5, 2.5, 1, 1, nextReview));
+        attempts.put(-1L, new AttemptHistory(0L, 1, 0));
+
+        // when
+        int updated = wordBulkOperations.updateReviewStates(states, attempts);
+
+        // then - termin jako milisekundy epoki, niezależnie od strefy czasowej sesji; nowe klucze losowania
+        assertThat(updated).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM words WHERE random_key = 1", Long.class)).isZero();
+        for (Word word : words) {
+            ReviewState expected = states.get(word.getId());
+            assertThat(ReviewState.of(wordRepository.findById(word.getId()).orElseThrow())).isEqualTo(expected);
+        }
+        assertThat(wordBulkOperations.findLevelCounts("english")).containsExactlyInAnyOrder(
+                new WordBulkOperations.LevelCount("english", 2, 1),
+                new WordBulkOperations.LevelCount("english", 3, 1),
+                new WordBulkOperations.LevelCount("english", 4, 1));
+    }
+
+    @Test
+    void updateReviewStates_shouldShiftAnswersIntoStoredHistoryLikeAppend() {
+        // given - zwykła historia, historia z ustawionym najstarszym bitem i paczka dłuższa niż okno
+        List<Word> words = wordBulkOperations.load(List.of(word("hello", "cześć", null), word("house", "dom", null),
+                word("tree", "drzewo", null)), ImportMode.INSERT, true).affectedWords();
+        List<AttemptHistory> stored = List.of(new AttemptHistory(0b101L, 3, 2),
+                new AttemptHistory(Long.MIN_VALUE | 1L, 80, 41), new AttemptHistory(-1L, 64, 64));
+        List<AttemptHistory> answers = List.of(new AttemptHistory(0b01L, 2, 1),
+                new AttemptHistory(0L, 1, 0), new AttemptHistory(0x5555_5555_5555_5555L, 70, 35));
+        Map<Long, ReviewState> states = new LinkedHashMap<>();
+        Map<Long, AttemptHistory> attempts = new HashMap<>();
+        for (int i = 0; i < words.size(); i++) {
+            Word word = words.get(i);
+            jdbcTemplate.update(
+                    "UPDATE words SET attempt_history = ?, attempt_count = ?, correct_count = ? WHERE id = ?",
+                    stored.get(i).bits(), stored.get(i).attempts(), stored.get(i).correct(), word.getId());
+            states.put(word.getId(), ReviewState.of(word));
+            attempts.put(word.getId(), answers.get(i));
+        }
+
+        // when
+        wordBulkOperations.updateReviewStates(states, attempts);
+
+        // then - ten sam wynik co AttemptHistory.append w pamięci, także przy przepełnieniu i pełnym oknie
+        for (int i = 0; i < words.size(); i++) {
+            Word word = wordRepository.findById(words.get(i).getId()).orElseThrow();
+            assertThat(AttemptHistory.of(word)).isEqualTo(stored.get(i).append(answers.get(i)));
+        }
+    }
+
+    private Long idAtRandomKey(int proficiencyLevel, double randomKey) {
+        return wordBulkOperations.findWordAtRandomKey("english", proficiencyLevel, randomKey)
+                .map(Word::getId)
+                .orElse(null);
+    }
+
+    private static Word word(String originalWord, String translation, String explanation) {
+        Word word = new Word();
+        word.setOriginalWord(originalWord);
+        word.setTranslation(translation);
+        word.setLanguage("english");
+        word.setProficiencyLevel(1);
+        word.setExplanation(explanation);
+        return word;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.AiRoutingProperties;
+import com.example.languagelearning.config.AiTelemetryAdvisor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AiModelRouterTest {
+
+    private static final String PROMPT_TYPE = "grammar-validation";
+    private static final String STRONG_ANSWER = "{\"isCorrect\": true, \"confidence\": 0.95}";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient chatClient;
+
+    @Mock
+    private AiTelemetryAdvisor telemetry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AiModelRouter modelRouter;
+
+    @BeforeEach
+    void setUp() {
+        modelRouter = new AiModelRouter(chatClient, new AiRoutingProperties(), telemetry, meterRegistry);
+    }
+
+    @Test
+    void route_shouldEscalateFailingFastCall() {
+        // given - szybki model niedostępny, mocny odpowiada
+        when(content()).thenThrow(new IllegalStateException("503 Service Unavailable")).thenReturn(STRONG_ANSWER);
+
+        // when
+        JsonNode result = modelRouter.route(PROMPT_TYPE, "prompt", objectMapper::readTree,
+                modelRouter::verdictEscalationReason);
+
+        // then
+        assertThat(result.get("isCorrect").asBoolean()).isTrue();
+        assertThat(decisions(AiModelRouter.TIER_STRONG, AiModelRouter.REASON_FAST_ERROR)).isEqualTo(1);
+    }
+
+    @Test
+    void route_shouldEscalateLowConfidence() {
+        // given
+        when(content()).thenReturn("{\"isCorrect\": false, \"confidence\": 0.3}").thenReturn(STRONG_ANSWER);
+
+        // when
+        JsonNode result = modelRouter.route(PROMPT_TYPE, "prompt", objectMapper::readTree,
+                modelRouter::verdictEscalationReason);
+
+        // then
+        assertThat(result.get("isCorrect").asBoolean()).isTrue();
+        assertThat(decisions(AiModelRouter.TIER_STRONG, AiModelRouter.REASON_LOW_CONFIDENCE)).isEqualTo(1);
+    }
+
+    @Test
+    void route_shouldNotEscalateConfidentFastAnswer() {
+        // given
+        when(content()).thenReturn("{\"isCorrect\": false, \"confidence\": 0.9}");
+
+        // when
+        JsonNode result = modelRouter.route(PROMPT_TYPE, "prompt", objectMapper::readTree,
+                modelRouter::verdictEscalationReason);
+
+        // then
+        assertThat(result.get("isCorrect").asBoolean()).isFalse();
+        assertThat(decisions(AiModelRouter.TIER_FAST, "none")).isEqualTo(1);
+    }
+
+    @Test
+    void route_shouldRecordOnlyParseFailureWhenEscalationCheckFails() {
+        // given
+        when(content()).thenReturn("{\"isCorrect\": true, \"confidence\": 0.9}").thenReturn(STRONG_ANSWER);
+
+        // when
+        modelRouter.route(PROMPT_TYPE, "prompt", objectMapper::readTree, root -> {
+            throw new IllegalArgumentException("unexpected verdict shape");
+        });
+
+        // then
+        verify(telemetry).recordParseOutcome(PROMPT_TYPE, AiModelRouter.TIER_FAST, false);
+        verify(telemetry, never()).recordParseOutcome(PROMPT_TYPE, AiModelRouter.TIER_FAST, true);
+        assertThat(decisions(AiModelRouter.TIER_STRONG, AiModelRouter.REASON_PARSE_ERROR)).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String content() {
+        return chatClient.prompt()
+                .options(any())
+                .advisors(any(Consumer.class))
+                .user(anyString())
+                .call()
+                .content();
+    }
+
+    private double decisions(String tier, String reason) {
+        return meterRegistry.get("ai.routing.decisions")
+                .tags("promptType", PROMPT_TYPE, "tier", tier, "reason", reason)
+                .counter()
+                .count();
+    }
+}
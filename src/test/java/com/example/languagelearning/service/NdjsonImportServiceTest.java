@@ -0,0 +1,133 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.ImportProperties;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.StreamImportSummary;
+import com.example.languagelearning.model.Word;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonImportServiceTest {
+
+    @Mock
+    private WordService wordService;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    private final ImportProperties properties = new ImportProperties();
+
+    private NdjsonImportService ndjsonImportService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setStreamBatchSize(2);
+        ndjsonImportService = new NdjsonImportService(wordService, nearDuplicateDetector, properties, new ObjectMapper());
+    }
+
+    @Test
+    void importNdjson_shouldPersistInBatchesAndReportFailedLines() throws IOException {
+        // given
+        String body = """
+                {"originalWord":"kot","translation":"cat","language":"polish","proficiencyLevel":1}
+                {"originalWord":"pies","translation":"dog","language":"polish"}
+                {"originalWord":"broken",
+
+                {"originalWord":"","translation":"empty","language":"polish"}
+                {"id":42,"originalWord":"dom","translation":"house","language":"polish","proficiencyLevel":2}
+                """;
+        when(wordService.importBatch(anyList(), eq(ImportMode.UPSERT), eq(NearDuplicatePolicy.IGNORE)))
+                .thenReturn(new ImportSummary(2, 2, 0, 0, 0, 0))
+                .thenReturn(new ImportSummary(1, 0, 1, 0, 0, 0));
+
+        // when
+        StreamImportSummary summary = ndjsonImportService.importNdjson(stream(body), ImportMode.UPSERT,
+                NearDuplicatePolicy.IGNORE);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Word>> batches = ArgumentCaptor.forClass(List.class);
+        verify(wordService, times(2)).importBatch(batches.capture(), any(), any());
+        assertThat(batches.getAllValues().get(0)).extracting(Word::getOriginalWord).containsExactly("kot", "pies");
+        assertThat(batches.getAllValues().get(1)).extracting(Word::getOriginalWord).containsExactly("dom");
+        assertThat(batches.getAllValues().get(1).get(0).getId()).isNull();
+
+        assertThat(summary.lines()).isEqualTo(5);
+        assertThat(summary.inserted()).isEqualTo(2);
+        assertThat(summary.updated()).isEqualTo(1);
+        assertThat(summary.failedLineCount()).isEqualTo(2);
+        assertThat(summary.failedLines()).containsExactly(3L, 5L);
+        assertThat(summary.batches()).isEqualTo(2);
+        assertThat(summary.nearDuplicateCount()).isNull();
+        verify(nearDuplicateDetector).scheduleRebuild();
+    }
+
+    @Test
+    void importNdjson_shouldSumNearDuplicateCountsWhenRequested() throws IOException {
+        // given
+        String body = "{\"originalWord\":\"kot\",\"translation\":\"cat\",\"language\":\"polish\"}\n";
+        when(wordService.importBatch(anyList(), eq(ImportMode.INSERT), eq(NearDuplicatePolicy.SKIP)))
+                .thenReturn(new ImportSummary(1, 0, 0, 0, 0, 0).withNearDuplicates(1, 1, 1, List.of()));
+
+        // when
+        StreamImportSummary summary = ndjsonImportService.importNdjson(stream(body), ImportMode.INSERT,
+                NearDuplicatePolicy.SKIP);
+
+        // then
+        assertThat(summary.skippedNearDuplicates()).isEqualTo(1);
+        assertThat(summary.nearDuplicateCount()).isEqualTo(1);
+        assertThat(summary.failedLines()).isEmpty();
+        verify(nearDuplicateDetector, never()).scheduleRebuild();
+    }
+
+    @Test
+    void importNdjson_shouldFailLinesLongerThanLimitWithoutBufferingThem() throws IOException {
+        // given - linie zakończone \r\n, druga dłuższa niż limit (także bez znaku końca linii na końcu body)
+        String valid = "{\"originalWord\":\"kot\",\"translation\":\"cat\",\"language\":\"polish\"}";
+        String tooLong = "{\"originalWord\":\"" + "x".repeat(500) + "\",\"translation\":\"t\",\"language\":\"polish\"}";
+        properties.setMaxLineLength(valid.length());
+        String body = valid + "\r\n" + tooLong + "\r\n" + valid.replace("kot", "lew") + "\r\n" + tooLong;
+        when(wordService.importBatch(anyList(), eq(ImportMode.UPSERT), eq(NearDuplicatePolicy.IGNORE)))
+                .thenReturn(new ImportSummary(2, 2, 0, 0, 0, 0));
+
+        // when
+        StreamImportSummary summary = ndjsonImportService.importNdjson(stream(body), ImportMode.UPSERT,
+                NearDuplicatePolicy.IGNORE);
+
+        // then - linia równa limitowi przechodzi mimo \r, za długie są błędne, a czytanie idzie dalej
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Word>> batch = ArgumentCaptor.forClass(List.class);
+        verify(wordService).importBatch(batch.capture(), any(), any());
+        assertThat(batch.getValue()).extracting(Word::getOriginalWord).containsExactly("kot", "lew");
+        assertThat(summary.lines()).isEqualTo(4);
+        assertThat(summary.failedLineCount()).isEqualTo(2);
+        assertThat(summary.failedLines()).containsExactly(2L, 4L);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
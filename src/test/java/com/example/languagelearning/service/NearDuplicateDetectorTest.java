@@ -0,0 +1,98 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.NearDuplicateProperties;
+import com.example.languagelearning.dto.NearDuplicateGroup;
+import com.example.languagelearning.dto.NearDuplicateMatch;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class NearDuplicateDetectorTest {
+
+    private NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        List<Word> existing = List.of(
+                word(1L, "Mam dość", "I'm fed up", "polish"),
+                word(2L, "samochód", "car", "polish"),
+                word(3L, "książka", "book", "polish"),
+                word(4L, "Mam dosc!", "I'm fed up", "polish"),
+                word(5L, "Mam dość", "I'm fed up", "german")
+        );
+        WordBulkOperations bulkOperations = mock(WordBulkOperations.class);
+        doAnswer(invocation -> {
+            Consumer<Word> consumer = invocation.getArgument(0);
+            existing.forEach(consumer);
+            return null;
+        }).when(bulkOperations).forEachWordKey(any());
+
+        detector = new NearDuplicateDetector(new NearDuplicateProperties(), bulkOperations);
+        detector.rebuild();
+    }
+
+    @Test
+    void normalize_shouldFoldCaseDiacriticsAndPunctuation() {
+        assertThat(NearDuplicateDetector.normalize("  Mam DOŚĆ!!  ")).isEqualTo("mam dosc");
+        assertThat(NearDuplicateDetector.normalize("Łódź, ulica")).isEqualTo("lodz ulica");
+    }
+
+    @Test
+    void scanImport_shouldFlagVariantsOfExistingWordsOnly() {
+        Word variant = word(null, "mam dosc", "I'm fed up", "polish");
+        Word unrelated = word(null, "pies", "dog", "polish");
+        Word exactKey = word(null, "samochód", "car", "polish");
+
+        NearDuplicateDetector.ImportScan scan = detector.scanImport(List.of(variant, unrelated, exactKey));
+
+        assertThat(scan.flagged()).containsExactly(variant);
+        assertThat(scan.hits().get(0).matches()).extracting(NearDuplicateMatch::id).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    void scanImport_shouldFlagVariantsWithinTheSameImport() {
+        Word first = word(null, "dom", "house", "polish");
+        Word second = word(null, "Dom.", "house", "polish");
+
+        NearDuplicateDetector.ImportScan scan = detector.scanImport(List.of(first, second));
+
+        assertThat(scan.flagged()).containsExactly(second);
+        assertThat(scan.hits().get(0).matches()).extracting(NearDuplicateMatch::id).containsOnlyNulls();
+    }
+
+    @Test
+    void report_shouldGroupNearDuplicatesPerLanguage() {
+        List<NearDuplicateGroup> groups = detector.report(null);
+
+        assertThat(groups).hasSize(1);
+        assertThat(groups.get(0).language()).isEqualTo("polish");
+        assertThat(groups.get(0).words()).extracting(NearDuplicateMatch::id).containsExactly(1L, 4L);
+        assertThat(detector.report("german")).isEmpty();
+    }
+
+    @Test
+    void removeAfterCommit_shouldDropWordFromIndex() {
+        detector.removeAfterCommit(List.of(4L));
+
+        assertThat(detector.report(null)).isEmpty();
+        assertThat(detector.getIndexedWordCount()).isEqualTo(4);
+    }
+
+    private static Word word(Long id, String original, String translation, String language) {
+        Word word = new Word();
+        word.setId(id);
+        word.setOriginalWord(original);
+        word.setTranslation(translation);
+        word.setLanguage(language);
+        return word;
+    }
+}
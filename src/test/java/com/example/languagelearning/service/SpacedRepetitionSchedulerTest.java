@@ -0,0 +1,95 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.model.ReviewState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpacedRepetitionSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void correctAnswersShouldFollowSm2Intervals() {
+        ReviewState state = SpacedRepetitionScheduler.initialState(NOW);
+
+        state = SpacedRepetitionScheduler.review(state, true, NOW);
+        assertThat(state.intervalDays()).isEqualTo(1);
+        assertThat(state.nextReviewAt()).isEqualTo(NOW.plus(Duration.ofDays(1)));
+
+        // Kolejne odpowiedzi w terminie powtórki
+        state = SpacedRepetitionScheduler.review(state, true, state.nextReviewAt());
+        assertThat(state.intervalDays()).isEqualTo(6);
+
+        state = SpacedRepetitionScheduler.review(state, true, state.nextReviewAt());
+        assertThat(state.intervalDays()).isEqualTo(15);
+        assertThat(state.repetitions()).isEqualTo(3);
+        assertThat(state.proficiencyLevel()).isEqualTo(4);
+        // Jakość 4 nie zmienia współczynnika łatwości
+        assertThat(state.easeFactor()).isCloseTo(2.5, within(1e-9));
+    }
+
+    @Test
+    void wrongAnswerShouldRestartRepetitionsAndLowerEase() {
+        ReviewState learned = new ReviewState(4, 2.5, 15, 3, NOW);
+
+        ReviewState state = SpacedRepetitionScheduler.review(learned, false, NOW);
+
+        assertThat(state.repetitions()).isZero();
+        assertThat(state.intervalDays()).isZero();
+        assertThat(state.nextReviewAt()).isEqualTo(NOW.plus(SpacedRepetitionScheduler.RELEARN_DELAY));
+        assertThat(state.easeFactor()).isCloseTo(2.18, within(1e-9));
+        assertThat(state.proficiencyLevel()).isEqualTo(3);
+
+        // Po ponownym nauczeniu interwały zaczynają od 1 dnia
+        assertThat(SpacedRepetitionScheduler.review(state, true, state.nextReviewAt()).intervalDays()).isEqualTo(1);
+    }
+
+    @Test
+    void easeShouldNotDropBelowMinimum() {
+        ReviewState state = SpacedRepetitionScheduler.initialState(NOW);
+        for (int i = 0; i < 10; i++) {
+            state = SpacedRepetitionScheduler.review(state, false, state.nextReviewAt());
+        }
+
+        assertThat(state.easeFactor()).isEqualTo(SpacedRepetitionScheduler.MIN_EASE);
+        assertThat(state.proficiencyLevel()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedCorrectAnswersShouldCapInterval() {
+        ReviewState state = SpacedRepetitionScheduler.initialState(NOW);
+        for (int i = 0; i < 40; i++) {
+            state = SpacedRepetitionScheduler.review(state, true, state.nextReviewAt());
+            assertThat(state.intervalDays()).isBetween(1, SpacedRepetitionScheduler.MAX_INTERVAL_DAYS);
+        }
+
+        // Bez ograniczenia 21. odpowiedź wychodziła poza zakres timestamptz, a 24. przepełniała int
+        assertThat(state.intervalDays()).isEqualTo(SpacedRepetitionScheduler.MAX_INTERVAL_DAYS);
+        assertThat(state.repetitions()).isEqualTo(40);
+    }
+
+    @Test
+    void answersBeforeDueDateShouldNotMoveSchedule() {
+        ReviewState learned = new ReviewState(2, 2.5, 15, 3, NOW.plus(Duration.ofDays(15)));
+
+        // Słowo ćwiczone przez /random wielokrotnie przed terminem
+        ReviewState state = learned;
+        for (int i = 0; i < 30; i++) {
+            state = SpacedRepetitionScheduler.review(state, true, NOW.plus(Duration.ofMinutes(i)));
+        }
+        assertThat(state).isEqualTo(new ReviewState(5, 2.5, 15, 3, learned.nextReviewAt()));
+
+        // Błędna odpowiedź przed terminem - tylko poziom
+        assertThat(SpacedRepetitionScheduler.review(learned, false, NOW))
+                .isEqualTo(new ReviewState(1, 2.5, 15, 3, learned.nextReviewAt()));
+
+        // W terminie harmonogram znów rusza
+        ReviewState due = SpacedRepetitionScheduler.review(learned, true, learned.nextReviewAt());
+        assertThat(due.intervalDays()).isEqualTo(38);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.dto.VocabularyStats;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import com.example.languagelearning.repository.WordBulkOperations.LevelCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VocabularyStatsServiceTest {
+
+    @Mock
+    private WordBulkOperations wordBulkOperations;
+
+    private VocabularyStatsService vocabularyStatsService;
+
+    @BeforeEach
+    void setUp() {
+        vocabularyStatsService = new VocabularyStatsService(wordBulkOperations);
+    }
+
+    @Test
+    void reconcile_shouldReplaceCountersWithRecount() {
+        // given
+        when(wordBulkOperations.recountLevels()).thenReturn(List.of(
+                new LevelCount("polish", 1, 10), new LevelCount("polish", 3, 5), new LevelCount("german", 2, 7)));
+
+        // when
+        vocabularyStatsService.reconcile();
+        VocabularyStats stats = vocabularyStatsService.getStats();
+
+        // then
+        assertThat(stats.totalWords()).isEqualTo(22);
+        assertThat(stats.languages()).containsOnlyKeys("german", "polish");
+        assertThat(stats.languages().get("polish").totalWords()).isEqualTo(15);
+        assertThat(stats.languages().get("polish").byLevel()).isEqualTo(Map.of(1, 10L, 2, 0L, 3, 5L, 4, 0L, 5, 0L));
+        assertThat(stats.reconciledAt()).isNotNull();
+    }
+
+    @Test
+    void afterCommitChanges_shouldAdjustCounters() {
+        // given - bez transakcji zmiany są stosowane od razu
+        Word word = word("polish", 1);
+
+        // when
+        vocabularyStatsService.addAfterCommit(List.of(word, word("polish", 2)));
+        vocabularyStatsService.moveAfterCommit("polish", 1, "polish", 2);
+        vocabularyStatsService.moveAfterCommit("polish", 2, "german", 2);
+        vocabularyStatsService.removeAfterCommit(List.of(word("polish", 2)));
+
+        // then
+        VocabularyStats stats = vocabularyStatsService.getStats();
+        assertThat(stats.totalWords()).isEqualTo(1);
+        assertThat(stats.languages()).containsOnlyKeys("german");
+        assertThat(stats.languages().get("german").byLevel()).containsEntry(2, 1L);
+    }
+
+    @Test
+    void reconcile_shouldCorrectDriftedCounters() {
+        // given - licznik w pamięci rozjechany z bazą
+        vocabularyStatsService.addAfterCommit(List.of(word("polish", 1), word("polish", 1)));
+        when(wordBulkOperations.recountLevels()).thenReturn(List.of(new LevelCount("polish", 1, 1)));
+
+        // when
+        vocabularyStatsService.reconcile();
+
+        // then
+        assertThat(vocabularyStatsService.getStats().totalWords()).isEqualTo(1);
+    }
+
+    private static Word word(String language, int level) {
+        Word word = new Word();
+        word.setLanguage(language);
+        word.setProficiencyLevel(level);
+        return word;
+    }
+}
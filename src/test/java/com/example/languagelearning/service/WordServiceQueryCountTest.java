@@ -0,0 +1,250 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.config.QueryCountingDataSourcePostProcessor;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.PracticeAnswer;
+import com.example.languagelearning.dto.PracticeSessionResult;
+import com.example.languagelearning.model.LanguageDictionary;
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import com.example.languagelearning.repository.WordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.languagelearning.support.QueryCountAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the word endpoints' service calls. Runs against H2 without the test
+ * transaction, so every service method commits and flushes its own SQL. The PostgreSQL migrations
+ * do not run on H2 - the schema comes from the entities.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import({WordService.class, WordBulkOperations.class, LanguageDictionary.class, QueryCountingDataSourcePostProcessor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WordServiceQueryCountTest {
+
+    @Autowired
+    private WordService wordService;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private WordBulkOperations wordBulkOperations;
+
+    @Autowired
+    private LanguageDictionary languageDictionary;
+
+    @MockBean
+    private AiGrammarValidationService aiValidationService;
+
+    @MockBean
+    private TextToSpeechService textToSpeechService;
+
+    @MockBean
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @MockBean
+    private WordCacheEvictor wordCacheEvictor;
+
+    @MockBean
+    private VocabularyVersionService vocabularyVersionService;
+
+    @MockBean
+    private VocabularyStatsService vocabularyStatsService;
+
+    private Word word;
+
+    @BeforeEach
+    void setUp() {
+        // Słownik języków wypełniony przed pomiarami - nowy język to jednorazowy INSERT na instancję
+        languageDictionary.register(List.of("polish"));
+        word = new Word();
+        word.setOriginalWord("hello");
+        word.setTranslation("cześć");
+        word.setLanguage("polish");
+        word.setProficiencyLevel(1);
+        word = wordRepository.save(word);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getWord_shouldUseSingleSelect() {
+        assertMaxStatements(1, () -> wordService.getWord(word.getId()));
+    }
+
+    @Test
+    void updateWord_shouldSelectAndUpdateOnce() {
+        Word update = new Word();
+        update.setOriginalWord("hi");
+        update.setTranslation("hej");
+        update.setLanguage("polish");
+
+        assertMaxStatements(2, () -> wordService.updateWord(word.getId(), update));
+    }
+
+    @Test
+    void deleteWord_shouldSelectAndDeleteOnce() {
+        assertMaxStatements(2, () -> wordService.deleteWord(word.getId()));
+    }
+
+    @Test
+    void checkTranslation_shouldSelectAndUpdateOnce() {
+        assertMaxStatements(2, () -> wordService.checkTranslation(word.getId(), "cześć"));
+    }
+
+    @Test
+    void getWordsPaginated_shouldNotLoadWordsOneByOne() {
+        for (int i = 0; i < 10; i++) {
+            Word extra = new Word();
+            extra.setOriginalWord("word" + i);
+            extra.setTranslation("słowo" + i);
+            extra.setLanguage("polish");
+            wordRepository.save(extra);
+        }
+
+        // Strona + count - niezależnie od liczby słów na stronie
+        assertMaxStatements(2, () -> wordService.getWordsPaginated(PageRequest.of(0, 5), null));
+        assertMaxStatements(2, () -> wordService.getWordsPaginated(PageRequest.of(0, 5), "word"));
+    }
+
+    @Test
+    void bulkImport_shouldInsertInJdbcBatches() {
+        List<Word> words = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Word extra = new Word();
+            extra.setOriginalWord("bulk" + i);
+            extra.setTranslation("masowo" + i);
+            extra.setLanguage("polish");
+            extra.setProficiencyLevel(1);
+            extra.setExampleUsage("example" + i);
+            words.add(extra);
+        }
+
+        // 1 wyszukanie istniejących + 3 bloki id z sekwencji (allocationSize 50) + 3 batche INSERT po maks. 50 wierszy
+        assertMaxStatements(7, () -> wordService.bulkImport(words, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE));
+
+        // Ponowny import bez zmian - tylko wyszukanie istniejących, żadnych zapisów
+        assertMaxStatements(1, () -> wordService.bulkImport(words, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE));
+    }
+
+    @Test
+    void bulkDelete_shouldNotDeleteWordsOneByOne() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(word.getId());
+        for (int i = 0; i < 30; i++) {
+            Word extra = new Word();
+            extra.setOriginalWord("delete" + i);
+            extra.setTranslation("usuń" + i);
+            extra.setLanguage("polish");
+            ids.add(wordRepository.save(extra).getId());
+        }
+        ids.add(-1L);
+
+        // H2 nie ma DELETE ... RETURNING: wyszukanie istniejących id + jeden DELETE z tablicą id
+        List<Long> deleted = assertMaxStatements(2, () -> wordService.bulkDelete(ids));
+
+        assertThat(deleted).hasSize(31).doesNotContain(-1L);
+        assertThat(wordRepository.count()).isZero();
+    }
+
+    @Test
+    void getRandomWord_shouldReadIdsAndLevelsThenOneWord() {
+        // (id, poziom) wszystkich kandydatów + jedno pełne słowo - bez kolumn TEXT pozostałych
+        assertMaxStatements(2, () -> wordService.getRandomWord("polish"));
+        assertMaxStatements(2, () -> wordService.getRandomWord(null));
+    }
+
+    @Test
+    void practiceSession_shouldNotQueryOrUpdatePerWord() {
+        List<PracticeAnswer> answers = new ArrayList<>();
+        answers.add(new PracticeAnswer(word.getId(), "cześć"));
+        for (int i = 0; i < 20; i++) {
+            Word extra = new Word();
+            extra.setOriginalWord("practice" + i);
+            extra.setTranslation("ćwiczenie" + i);
+            extra.setLanguage("polish");
+            extra.setProficiencyLevel(3);
+            Long id = wordRepository.save(extra).getId();
+            answers.add(new PracticeAnswer(id, i % 2 == 0 ? "ćwiczenie" + i : "wrong"));
+        }
+
+        // (id, poziom) kandydatów + jeden SELECT wylosowanych słów - niezależnie od rozmiaru sesji
+        List<Word> session = assertMaxStatements(2, () -> wordService.getPracticeSession("polish", 10));
+        assertThat(session).hasSize(10).doesNotHaveDuplicates();
+
+        // Jeden SELECT ocenianych słów + jeden batch UPDATE zmienionych poziomów
+        PracticeSessionResult result = assertMaxStatements(2, () -> wordService.submitPracticeAnswers(answers));
+
+        assertThat(result.correct()).isEqualTo(11);
+        assertThat(result.updated()).isEqualTo(21);
+        assertThat(wordRepository.findById(word.getId())).get()
+                .extracting(Word::getProficiencyLevel, Word::getAttemptHistory, Word::getAttemptCount)
+                .containsExactly(2, 1L, 1);
+    }
+
+    @Test
+    void dueQueue_shouldUseSingleQuery() {
+        List<Word> due = assertMaxStatements(1, () -> wordService.getDueWords("polish", 10));
+        long count = assertMaxStatements(1, () -> wordService.countDueWords(null));
+
+        assertThat(due).extracting(Word::getId).containsExactly(word.getId());
+        assertThat(count).isEqualTo(1);
+
+        // Poprawna odpowiedź przesuwa powtórkę o dzień - słowo znika z kolejki
+        wordService.checkTranslation(word.getId(), "cześć");
+        assertThat(wordService.getDueWords("polish", 10)).isEmpty();
+        assertThat(wordService.countDueWords("polish")).isZero();
+    }
+
+    @Test
+    void levelRecount_shouldUseSingleGroupedQuery() {
+        List<WordBulkOperations.LevelCount> counts = assertMaxStatements(1, () -> wordBulkOperations.recountLevels());
+
+        assertThat(counts).containsExactly(new WordBulkOperations.LevelCount("polish", 1, 1));
+    }
+
+    @Test
+    void createWord_shouldRegisterLanguageOnlyOnce() {
+        Word first = new Word();
+        first.setOriginalWord("Haus");
+        first.setTranslation("dom");
+        first.setLanguage("german");
+        Long id = wordService.createWord(first).getId();
+
+        Word second = new Word();
+        second.setOriginalWord("Baum");
+        second.setTranslation("drzewo");
+        second.setLanguage("german");
+
+        // Znany język - kod zamieniany w pamięci: blok id z sekwencji + INSERT, bez zapytań do słownika
+        assertMaxStatements(2, () -> wordService.createWord(second));
+        assertThat(wordService.getWord(id).getLanguage()).isEqualTo("german");
+        assertThat(wordService.getDueWords("german", 10)).hasSize(2);
+        assertThat(wordService.getDueWords("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void summaries_shouldUseSingleProjectionQuery() {
+        assertMaxStatements(1, () -> wordService.getAllWordSummaries());
+        assertMaxStatements(2, () -> wordService.getWordSummariesPaginated(PageRequest.of(0, 5), null));
+        assertMaxStatements(2, () -> wordService.getWordSummariesPaginated(PageRequest.of(0, 5), "hel"));
+    }
+}
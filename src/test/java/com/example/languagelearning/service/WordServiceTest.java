@@ -1,24 +1,50 @@
 package com.example.languagelearning.service;
 
+import com.example.languagelearning.dto.CsvEncoding;
+import com.example.languagelearning.dto.ImportMode;
+import com.example.languagelearning.dto.ImportResult;
+import com.example.languagelearning.dto.ImportSummary;
+import com.example.languagelearning.dto.NearDuplicateHit;
+import com.example.languagelearning.dto.NearDuplicateMatch;
+import com.example.languagelearning.dto.NearDuplicatePolicy;
+import com.example.languagelearning.dto.PracticeAnswer;
+import com.example.languagelearning.dto.PracticeAnswerResult;
+import com.example.languagelearning.dto.PracticeSessionResult;
 import com.example.languagelearning.dto.TranslationCheckResponse;
+import com.example.languagelearning.dto.WordAttemptStats;
+import com.example.languagelearning.dto.WordSummary;
+import com.example.languagelearning.model.AttemptHistory;
+import com.example.languagelearning.model.LanguageDictionary;
 import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
 import com.example.languagelearning.repository.WordRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.Query;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,6 +57,24 @@ class WordServiceTest {
     @Mock
     private WordRepository wordRepository;
 
+    @Mock
+    private WordBulkOperations wordBulkOperations;
+
+    @Mock
+    private LanguageDictionary languageDictionary;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private WordCacheEvictor wordCacheEvictor;
+
+    @Mock
+    private VocabularyVersionService vocabularyVersionService;
+
+    @Mock
+    private VocabularyStatsService vocabularyStatsService;
+
     @Mock
     private EntityManager entityManager;
 
@@ -83,11 +127,10 @@ class WordServiceTest {
     @Test
     void exportToCsv_shouldHandlePolishCharacters() throws Exception {
         // given
-        when(entityManager.createNativeQuery(anyString(), eq(Word.class))).thenReturn(query);
-        when(query.getResultList()).thenReturn(testWords);
+        givenCursorReturns(testWords);
 
         // when
-        byte[] csvContent = wordService.exportToCsv();
+        byte[] csvContent = exportToCsv(CsvEncoding.UTF_16LE);
 
         // then
         String csvString = new String(csvContent, 2, csvContent.length - 2, StandardCharsets.UTF_16LE);
@@ -99,14 +142,30 @@ class WordServiceTest {
         assertThat(csvContent[1]).isEqualTo((byte)0xFE);
     }
 
+    @Test
+    void exportToCsv_shouldWriteUtf8WithBom() throws Exception {
+        // given
+        givenCursorReturns(testWords);
+
+        // when
+        byte[] csvContent = exportToCsv(CsvEncoding.UTF_8);
+
+        // then
+        assertThat(csvContent).startsWith((byte) 0xEF, (byte) 0xBB, (byte) 0xBF);
+        String csvString = new String(csvContent, 3, csvContent.length - 3, StandardCharsets.UTF_8);
+        assertThat(csvString)
+                .startsWith("originalWord,translation,language,proficiencyLevel,exampleUsage,explanation\n")
+                .contains("książka");
+        assertThat(csvContent.length).isLessThan(exportToCsv(CsvEncoding.UTF_16LE).length);
+    }
+
     @Test
     void exportToCsv_shouldHandleEmptyList() throws Exception {
         // given
-        when(entityManager.createNativeQuery(anyString(), eq(Word.class))).thenReturn(query);
-        when(query.getResultList()).thenReturn(Collections.emptyList());
+        givenCursorReturns(Collections.emptyList());
 
         // when
-        byte[] csvContent = wordService.exportToCsv();
+        byte[] csvContent = exportToCsv(CsvEncoding.UTF_16LE);
 
         // then
         String csvString = new String(csvContent, 2, csvContent.length - 2, StandardCharsets.UTF_16LE);
@@ -118,17 +177,46 @@ class WordServiceTest {
     void exportToCsv_shouldEscapeSpecialCharacters() throws Exception {
         // given
         Word wordWithCommas = createWord(1L, "word,with,commas", "translation", "polish", 1, "example", "explanation");
-        when(entityManager.createNativeQuery(anyString(), eq(Word.class))).thenReturn(query);
-        when(query.getResultList()).thenReturn(Collections.singletonList(wordWithCommas));
+        givenCursorReturns(Collections.singletonList(wordWithCommas));
 
         // when
-        byte[] csvContent = wordService.exportToCsv();
+        byte[] csvContent = exportToCsv(CsvEncoding.UTF_16LE);
 
         // then
         String csvString = new String(csvContent, 2, csvContent.length - 2, StandardCharsets.UTF_16LE);
         assertThat(csvString).contains("\"word,with,commas\"");
     }
 
+    @Test
+    void importFromCsv_shouldAcceptUtf8ExportWithBom() throws Exception {
+        // given
+        givenCursorReturns(testWords);
+        MultipartFile file = new MockMultipartFile("file", "vocabulary.csv", "text/csv", exportToCsv(CsvEncoding.UTF_8));
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordBulkOperations.load(anyList(), eq(ImportMode.UPSERT), eq(false)))
+                .thenReturn(new ImportResult(new ImportSummary(testWords.size(), 0, 0, testWords.size(), 0, 0), List.of()));
+
+        // when
+        ImportSummary summary = wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        assertThat(summary.received()).isEqualTo(testWords.size());
+    }
+
+    private byte[] exportToCsv(CsvEncoding encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wordService.exportToCsv(out, encoding);
+        return out.toByteArray();
+    }
+
+    private void givenCursorReturns(List<Word> words) {
+        doAnswer(invocation -> {
+            Consumer<Word> consumer = invocation.getArgument(0);
+            words.forEach(consumer);
+            return null;
+        }).when(wordBulkOperations).forEachWord(any());
+    }
+
     // CSV Import Tests
     @Test
     void importFromCsv_shouldImportValidData() throws IOException {
@@ -139,7 +227,7 @@ class WordServiceTest {
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
         // when
-        wordService.importFromCsv(file);
+        wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
 
         // then
         verify(wordRepository).saveAll(anyList());
@@ -153,7 +241,7 @@ class WordServiceTest {
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
         // when & then
-        assertThatThrownBy(() -> wordService.importFromCsv(file))
+        assertThatThrownBy(() -> wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Invalid CSV format");
     }
@@ -169,7 +257,7 @@ class WordServiceTest {
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
         // when
-        wordService.importFromCsv(file);
+        wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
 
         // then
         verify(wordRepository).saveAll(anyList());
@@ -184,7 +272,7 @@ class WordServiceTest {
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
         // when
-        wordService.importFromCsv(file);
+        wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
 
         // then
         verify(wordRepository).saveAll(anyList());
@@ -199,7 +287,7 @@ class WordServiceTest {
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
         // when
-        wordService.importFromCsv(file);
+        wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
 
         // then
         verify(wordRepository).saveAll(anyList());
@@ -274,6 +362,44 @@ class WordServiceTest {
         // then
         assertThat(result.getProficiencyLevel()).isEqualTo(1);
         verify(wordRepository).save(newWord);
+        verify(vocabularyStatsService).addAfterCommit(List.of(newWord));
+        verify(vocabularyVersionService).bumpAfterCommit();
+    }
+
+    @Test
+    void createWord_shouldEvictAggregateViewsBeforeVersionBump() {
+        // given
+        Word newWord = createWord(null, "new", "nowy", "polish", 1, null, null);
+        when(wordRepository.save(any(Word.class))).thenReturn(newWord);
+
+        // when
+        wordService.createWord(newWord);
+
+        // then - bez @CacheEvict: eviction po commicie, zarejestrowana przed podbiciem wersji
+        InOrder inOrder = inOrder(wordCacheEvictor, vocabularyVersionService);
+        inOrder.verify(wordCacheEvictor).evictAfterCommit(List.of());
+        inOrder.verify(vocabularyVersionService).bumpAfterCommit();
+    }
+
+    @Test
+    void createWord_shouldDropClientSuppliedLearningState() {
+        // given - harmonogram i historia odpowiedzi przysłane w żądaniu
+        Word newWord = createWord(null, "new", "nowy", "polish", 4, null, null);
+        newWord.setEaseFactor(9.0);
+        newWord.setRepetitions(7);
+        newWord.setNextReviewAt(Instant.parse("2100-01-01T00:00:00Z"));
+        new AttemptHistory(-1L, 3, 64).applyTo(newWord);
+        when(wordRepository.save(any(Word.class))).thenReturn(newWord);
+
+        // when
+        Word result = wordService.createWord(newWord);
+
+        // then
+        assertThat(result.getProficiencyLevel()).isEqualTo(1);
+        assertThat(result.getEaseFactor()).isEqualTo(2.5);
+        assertThat(result.getRepetitions()).isZero();
+        assertThat(result.getNextReviewAt()).isBefore(Instant.parse("2100-01-01T00:00:00Z"));
+        assertThat(AttemptHistory.of(result)).isEqualTo(AttemptHistory.EMPTY);
     }
 
     @Test
@@ -296,6 +422,72 @@ class WordServiceTest {
         verify(wordRepository).save(existingWord);
     }
 
+    @Test
+    void updateWord_shouldEvictCachedWordBeforeVersionBump() {
+        // given
+        Word existingWord = createWord(1L, "old", "stary", "polish", 1, null, null);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(existingWord));
+        when(wordRepository.save(any(Word.class))).thenReturn(existingWord);
+
+        // when
+        wordService.updateWord(1L, createWord(1L, "new", "nowy", "polish", 1, null, null));
+
+        // then
+        InOrder inOrder = inOrder(wordCacheEvictor, vocabularyVersionService);
+        inOrder.verify(wordCacheEvictor).evictAfterCommit(List.of(1L));
+        inOrder.verify(vocabularyVersionService).bumpAfterCommit();
+    }
+
+    @Test
+    void createWord_shouldRejectExistingNaturalKey() {
+        // given
+        Word duplicate = createWord(null, "hello", "cześć", "polish", 1, null, null);
+        when(wordRepository.save(any(Word.class))).thenReturn(duplicate);
+        doThrow(naturalKeyViolation()).when(wordRepository).flush();
+
+        // when & then
+        assertThatThrownBy(() -> wordService.createWord(duplicate))
+                .isInstanceOf(WordService.DuplicateWordException.class)
+                .hasMessageContaining("'hello' -> 'cześć'");
+        verify(vocabularyStatsService, never()).addAfterCommit(anyList());
+        verify(vocabularyVersionService, never()).bumpAfterCommit();
+    }
+
+    @Test
+    void createWord_shouldPropagateOtherIntegrityViolations() {
+        // given
+        Word word = createWord(null, "hello", "cześć", "polish", 1, null, null);
+        DataIntegrityViolationException foreignKeyViolation = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", new SQLException("fk"), "words_language_id_fkey"));
+        when(wordRepository.save(any(Word.class))).thenReturn(word);
+        doThrow(foreignKeyViolation).when(wordRepository).flush();
+
+        // when & then
+        assertThatThrownBy(() -> wordService.createWord(word)).isSameAs(foreignKeyViolation);
+    }
+
+    @Test
+    void updateWord_shouldRejectExistingNaturalKey() {
+        // given
+        Word existingWord = createWord(1L, "old", "stary", "polish", 1, null, null);
+        Word updatedWord = createWord(1L, "hello", "cześć", "polish", 1, null, null);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(existingWord));
+        when(wordRepository.save(any(Word.class))).thenReturn(existingWord);
+        doThrow(naturalKeyViolation()).when(wordRepository).flush();
+
+        // when & then
+        assertThatThrownBy(() -> wordService.updateWord(1L, updatedWord))
+                .isInstanceOf(WordService.DuplicateWordException.class);
+        verify(vocabularyVersionService, never()).bumpAfterCommit();
+    }
+
+    private static DataIntegrityViolationException naturalKeyViolation() {
+        // Nazwa ograniczenia tak, jak wyciąga ją Hibernate z błędu PostgreSQL
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        WordService.NATURAL_KEY_CONSTRAINT));
+    }
+
     @Test
     void updateWord_shouldThrowExceptionWhenWordNotFound() {
         // given
@@ -317,6 +509,21 @@ class WordServiceTest {
 
         // then
         verify(wordRepository).delete(testWord);
+        verify(vocabularyStatsService).removeAfterCommit(List.of(testWord));
+    }
+
+    @Test
+    void deleteWord_shouldEvictCachedWordBeforeVersionBump() {
+        // given
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(testWord));
+
+        // when
+        wordService.deleteWord(1L);
+
+        // then
+        InOrder inOrder = inOrder(wordCacheEvictor, vocabularyVersionService);
+        inOrder.verify(wordCacheEvictor).evictAfterCommit(List.of(1L));
+        inOrder.verify(vocabularyVersionService).bumpAfterCommit();
     }
 
     @Test
@@ -333,60 +540,232 @@ class WordServiceTest {
     @Test
     void getRandomWord_shouldReturnRandomWordForLanguage() {
         // given
-        List<Word> polishWords = Arrays.asList(
-            createWord(1L, "hello", "cześć", "polish", 1, "example", "explanation"),
-            createWord(2L, "book", "książka", "polish", 2, "example", "explanation")
-        );
-        when(wordRepository.findByLanguage("polish")).thenReturn(polishWords);
+        Word hello = createWord(1L, "hello", "cześć", "polish", 1, "example", "explanation");
+        Word book = createWord(2L, "book", "książka", "polish", 2, "example", "explanation");
+        when(wordRepository.findIdAndLevelByLanguage("polish")).thenReturn(List.of(idAndLevel(1L, 1), idAndLevel(2L, 2)));
+        lenient().when(wordRepository.findById(1L)).thenReturn(Optional.of(hello));
+        lenient().when(wordRepository.findById(2L)).thenReturn(Optional.of(book));
 
         // when
         Word result = wordService.getRandomWord("polish");
 
         // then
-        assertThat(result).isIn(polishWords);
-        verify(wordRepository).findByLanguage("polish");
+        assertThat(result).isIn(hello, book);
+        verify(wordRepository).findIdAndLevelByLanguage("polish");
+        verify(wordRepository, never()).findByLanguage(anyString());
     }
 
     @Test
     void getRandomWord_shouldReturnRandomWordForAllLanguages() {
         // given
-        when(wordRepository.findAll()).thenReturn(testWords);
+        when(wordRepository.findAllProjectedBy()).thenReturn(List.of(idAndLevel(1L, 1)));
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(testWord));
 
         // when
         Word result = wordService.getRandomWord(null);
 
         // then
-        assertThat(result).isIn(testWords);
-        verify(wordRepository).findAll();
+        assertThat(result).isEqualTo(testWord);
+        verify(wordRepository, never()).findAll();
     }
 
     @Test
     void getRandomWord_shouldReturnNullWhenNoWordsFound() {
         // given
-        when(wordRepository.findByLanguage("spanish")).thenReturn(Collections.emptyList());
+        when(wordRepository.findIdAndLevelByLanguage("spanish")).thenReturn(Collections.emptyList());
 
         // when
         Word result = wordService.getRandomWord("spanish");
 
         // then
         assertThat(result).isNull();
+        verify(wordRepository, never()).findById(any());
     }
 
     @Test
     void getRandomWord_shouldApplyWeightingBasedOnProficiencyLevel() {
+        // given - poziom 5 ma wagę 1, poziom 1 wagę 5
+        List<WordRepository.IdAndLevel> candidates = List.of(idAndLevel(1L, 1), idAndLevel(2L, 3), idAndLevel(3L, 5));
+        when(wordRepository.findIdAndLevelByLanguage("polish")).thenReturn(candidates);
+        Map<Long, Integer> picks = new HashMap<>();
+        when(wordRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            picks.merge(id, 1, Integer::sum);
+            return Optional.of(createWord(id, "word" + id, "słowo", "polish", 1, null, null));
+        });
+
+        // when
+        for (int i = 0; i < 90; i++) {
+            assertThat(wordService.getRandomWord("polish")).isNotNull();
+        }
+
+        // then
+        assertThat(picks.keySet()).isSubsetOf(1L, 2L, 3L);
+        assertThat(picks.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(90);
+        // oczekiwane ~50 : ~30 : ~10 - losowanie z zegara w tej samej milisekundzie dawałoby jedno słowo
+        assertThat(picks.getOrDefault(1L, 0)).isGreaterThan(picks.getOrDefault(3L, 0));
+    }
+
+    @Test
+    void getRandomWord_shouldPickBucketByCountTimesWeightOnPostgres() {
+        // given - 10 słów poziomu 1 (waga 5) i 50 słów poziomu 5 (waga 1): oba kubełki po 50
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordBulkOperations.findLevelCounts("polish")).thenReturn(List.of(
+                new WordBulkOperations.LevelCount("polish", 1, 10),
+                new WordBulkOperations.LevelCount("polish", 5, 50)));
+        Map<Integer, Integer> picks = new HashMap<>();
+        when(wordBulkOperations.findWordAtRandomKey(eq("polish"), anyInt(), anyDouble())).thenAnswer(invocation -> {
+            int level = invocation.getArgument(1);
+            picks.merge(level, 1, Integer::sum);
+            return Optional.of(createWord((long) level, "word", "słowo", "polish", level, null, null));
+        });
+
+        // when
+        for (int i = 0; i < 2000; i++) {
+            assertThat(wordService.getRandomWord("polish")).isNotNull();
+        }
+
+        // then
+        assertThat(picks.get(1)).isBetween(800, 1200);
+        assertThat(picks.get(5)).isBetween(800, 1200);
+        verify(wordRepository, never()).findIdAndLevelByLanguage(anyString());
+        verify(wordRepository, never()).findById(any());
+    }
+
+    @Test
+    void getRandomWord_shouldFallBackWhenCountersAreAheadOfTable() {
         // given
-        List<Word> words = Arrays.asList(
-            createWord(1L, "easy", "łatwy", "polish", 1, "example", "explanation"),
-            createWord(2L, "medium", "średni", "polish", 3, "example", "explanation"),
-            createWord(3L, "hard", "trudny", "polish", 5, "example", "explanation")
-        );
-        when(wordRepository.findByLanguage("polish")).thenReturn(words);
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordBulkOperations.findLevelCounts(null)).thenReturn(List.of(new WordBulkOperations.LevelCount("polish", 2, 1)));
+        when(wordBulkOperations.findWordAtRandomKey(eq("polish"), eq(2), anyDouble())).thenReturn(Optional.empty());
+        when(wordRepository.findAllProjectedBy()).thenReturn(List.of(idAndLevel(1L, 1)));
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(testWord));
 
         // when
-        Word result = wordService.getRandomWord("polish");
+        Word result = wordService.getRandomWord(null);
 
         // then
-        assertThat(result).isIn(words);
+        assertThat(result).isEqualTo(testWord);
+    }
+
+    @Test
+    void getPracticeSession_shouldRejectRepeatsFromBatchedLookupOnPostgres() {
+        // given - 1000 słów; klucze trafiające w to samo słowo (id z pierwszej cyfry klucza) są odrzucane
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordBulkOperations.findLevelCounts("polish")).thenReturn(List.of(
+                new WordBulkOperations.LevelCount("polish", 1, 500),
+                new WordBulkOperations.LevelCount("polish", 4, 500)));
+        when(wordBulkOperations.findWordsAtRandomKeys(anyList())).thenAnswer(invocation -> {
+            List<WordBulkOperations.BucketKey> keys = invocation.getArgument(0);
+            return keys.stream()
+                    .map(key -> createWord(key.proficiencyLevel() * 10L + (long) (key.randomKey() * 10),
+                            "word", "słowo", "polish", key.proficiencyLevel(), null, null))
+                    .toList();
+        });
+
+        // when
+        List<Word> session = wordService.getPracticeSession("polish", 8);
+
+        // then
+        assertThat(session).hasSize(8);
+        assertThat(session).extracting(Word::getId).doesNotHaveDuplicates();
+        verify(wordBulkOperations, atMost(5)).findWordsAtRandomKeys(anyList());
+        verify(wordRepository, never()).findIdAndLevelByLanguage(anyString());
+    }
+
+    @Test
+    void getPracticeSession_shouldSampleSmallVocabularyWithoutRepeats() {
+        // given
+        when(wordRepository.findIdAndLevelByLanguage("polish"))
+                .thenReturn(List.of(idAndLevel(1L, 1), idAndLevel(2L, 2), idAndLevel(3L, 5), idAndLevel(4L, 3)));
+        when(wordRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Word> words = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                words.add(createWord(id, "word" + id, "słowo", "polish", 1, null, null));
+            }
+            return words;
+        });
+
+        // when
+        List<Word> session = wordService.getPracticeSession("polish", 3);
+        List<Word> all = wordService.getPracticeSession("polish", 10);
+
+        // then
+        assertThat(session).hasSize(3).extracting(Word::getId).doesNotHaveDuplicates().isSubsetOf(1L, 2L, 3L, 4L);
+        assertThat(all).extracting(Word::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void submitPracticeAnswers_shouldGradeBatchInSubmissionOrder() {
+        // given
+        Word hello = createWord(1L, "hello", "cześć", "polish", 2, "example", "explanation");
+        Word book = createWord(2L, "book", "książka", "polish", 5, "example", "explanation");
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordRepository.findAllById(List.of(1L, 2L, 99L))).thenReturn(List.of(hello, book));
+
+        // when
+        PracticeSessionResult result = wordService.submitPracticeAnswers(List.of(
+                new PracticeAnswer(1L, " Cześć "),
+                new PracticeAnswer(2L, "książka"),
+                new PracticeAnswer(99L, "nic"),
+                new PracticeAnswer(1L, "źle")));
+
+        // then - słowo 1: 2 -> 3 -> 2, słowo 2 zostaje na 5; oba dostają nowy termin powtórki, którego
+        // druga odpowiedź na słowo 1 - przed tym terminem - już nie zmienia
+        assertThat(result.answered()).isEqualTo(4);
+        assertThat(result.correct()).isEqualTo(2);
+        assertThat(result.updated()).isEqualTo(2);
+        assertThat(result.results()).extracting(PracticeAnswerResult::proficiencyLevel).containsExactly(3, 5, null, 2);
+        assertThat(result.results().get(2).message()).contains("99");
+        assertThat(result.results().get(2).nextReviewAt()).isNull();
+        assertThat(result.results().get(3).nextReviewAt()).isEqualTo(result.results().get(0).nextReviewAt());
+        // słowo 1: poprawna, potem błędna - bity 0b10 (najnowsza na bicie 0)
+        verify(wordBulkOperations).updateReviewStates(
+                argThat(states -> states.keySet().equals(Set.of(1L, 2L))
+                        && states.get(1L).repetitions() == 1 && states.get(2L).repetitions() == 1),
+                eq(Map.of(1L, new AttemptHistory(0b10L, 2, 1), 2L, new AttemptHistory(1L, 1, 1))));
+        verify(vocabularyVersionService).bumpAfterCommit();
+    }
+
+    @Test
+    void submitPracticeAnswers_shouldWriteAllStatesWithOneUpdate() {
+        // given
+        Word hello = createWord(1L, "hello", "cześć", "polish", 2, "example", "explanation");
+        Word book = createWord(2L, "book", "książka", "polish", 1, "example", "explanation");
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(hello, book));
+
+        // when
+        PracticeSessionResult result = wordService.submitPracticeAnswers(List.of(
+                new PracticeAnswer(1L, "cześć"), new PracticeAnswer(2L, "książka")));
+
+        // then
+        assertThat(result.updated()).isEqualTo(2);
+        verify(wordBulkOperations).updateReviewStates(argThat(states ->
+                states.get(1L).proficiencyLevel() == 3 && states.get(2L).proficiencyLevel() == 2), anyMap());
+        verify(wordCacheEvictor).evictAfterCommit(Set.of(1L, 2L));
+        verify(vocabularyStatsService).moveAfterCommit("polish", 2, "polish", 3);
+        verify(vocabularyStatsService).moveAfterCommit("polish", 1, "polish", 2);
+        verify(vocabularyVersionService).bumpAfterCommit();
+        verify(wordRepository, never()).save(any());
+    }
+
+    private static WordRepository.IdAndLevel idAndLevel(Long id, Integer level) {
+        return new WordRepository.IdAndLevel(id, level);
+    }
+
+    @Test
+    void getWordSummariesPaginated_shouldUseProjectionQueries() {
+        // given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<WordSummary> page = new PageImpl<>(List.of(new WordSummary(1L, "hello", "cześć", "polish", 1)));
+        when(wordRepository.findSummaries(pageable)).thenReturn(page);
+        when(wordRepository.searchSummaries("hel", pageable)).thenReturn(page);
+
+        // when / then
+        assertThat(wordService.getWordSummariesPaginated(pageable, null)).isSameAs(page);
+        assertThat(wordService.getWordSummariesPaginated(pageable, " hel ")).isSameAs(page);
+        verify(wordRepository, never()).findAll(any(Pageable.class));
     }
 
     // Translation Check Tests
@@ -462,6 +841,36 @@ class WordServiceTest {
 
         // then
         assertThat(word.getProficiencyLevel()).isEqualTo(5);
+        verify(vocabularyStatsService).moveAfterCommit("polish", 4, "polish", 5);
+    }
+
+    @Test
+    void checkTranslation_shouldRedrawRandomKey() {
+        // given - klucz, którego losowanie z [0, 1) nie może powtórzyć
+        testWord.setRandomKey(1.0);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(testWord));
+        when(wordRepository.save(any(Word.class))).thenReturn(testWord);
+
+        // when
+        wordService.checkTranslation(1L, "wrong");
+
+        // then
+        assertThat(testWord.getRandomKey()).isBetween(0.0, 1.0).isNotEqualTo(1.0);
+    }
+
+    @Test
+    void checkTranslation_shouldEvictCachedWordBeforeVersionBump() {
+        // given
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(testWord));
+        when(wordRepository.save(any(Word.class))).thenReturn(testWord);
+
+        // when
+        wordService.checkTranslation(1L, "cześć");
+
+        // then - wpis słowa i 'all' usunięte po commicie, zanim klienci dostaną nowy ETag
+        InOrder inOrder = inOrder(wordCacheEvictor, vocabularyVersionService);
+        inOrder.verify(wordCacheEvictor).evictAfterCommit(List.of(1L));
+        inOrder.verify(vocabularyVersionService).bumpAfterCommit();
     }
 
     @Test
@@ -478,6 +887,44 @@ class WordServiceTest {
         assertThat(word.getProficiencyLevel()).isEqualTo(1);
     }
 
+    @Test
+    void checkTranslation_shouldShiftAnswerIntoAttemptHistory() {
+        // given - jedna wcześniejsza poprawna odpowiedź
+        Word word = createWord(1L, "test", "test", "polish", 2, "example", "explanation");
+        new AttemptHistory(1L, 1, 1).applyTo(word);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(word));
+        when(wordRepository.save(any(Word.class))).thenReturn(word);
+
+        // when
+        wordService.checkTranslation(1L, "wrong");
+        wordService.checkTranslation(1L, "test");
+
+        // then
+        assertThat(word.getAttemptHistory()).isEqualTo(0b101L);
+        assertThat(word.getAttemptCount()).isEqualTo(3);
+        assertThat(word.getCorrectCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getAttemptStats_shouldDeriveStatsFromBitset() {
+        // given - od najstarszej: błędna, poprawna, poprawna
+        Word word = createWord(1L, "test", "test", "polish", 2, "example", "explanation");
+        new AttemptHistory(0b011L, 70, 40).applyTo(word);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(word));
+
+        // when
+        WordAttemptStats stats = wordService.getAttemptStats(1L);
+
+        // then
+        assertThat(stats.attempts()).isEqualTo(70);
+        assertThat(stats.recentAttempts()).isEqualTo(64);
+        assertThat(stats.recentCorrect()).isEqualTo(2);
+        assertThat(stats.recentAccuracy()).isEqualTo(2 / 64.0);
+        assertThat(stats.correctStreak()).isEqualTo(2);
+        assertThat(stats.incorrectStreak()).isZero();
+        assertThat(stats.recentHistory()).hasSize(64).startsWith("110").endsWith("000");
+    }
+
     // Bulk Operations Tests
     @Test
     void bulkImport_shouldImportValidWords() {
@@ -489,13 +936,195 @@ class WordServiceTest {
         when(wordRepository.saveAll(anyList())).thenReturn(wordsToImport);
 
         // when
-        List<Word> result = wordService.bulkImport(wordsToImport);
+        ImportSummary summary = wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
 
         // then
-        assertThat(result).hasSize(2);
+        assertThat(summary.inserted()).isEqualTo(2);
         verify(wordRepository).saveAll(wordsToImport);
     }
 
+    @Test
+    void bulkImport_shouldKeepLevelButResetScheduleAndAttempts() {
+        // given
+        Word imported = createWord(null, "word1", "słowo1", "polish", 3, "example1", "explanation1");
+        imported.setReviewIntervalDays(400);
+        imported.setRepetitions(9);
+        new AttemptHistory(0L, 2, 50).applyTo(imported);
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        wordService.bulkImport(List.of(imported), ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then - jak domyślne kolumny przy imporcie COPY
+        assertThat(imported.getProficiencyLevel()).isEqualTo(3);
+        assertThat(imported.getReviewIntervalDays()).isZero();
+        assertThat(imported.getRepetitions()).isZero();
+        assertThat(AttemptHistory.of(imported)).isEqualTo(AttemptHistory.EMPTY);
+    }
+
+    @Test
+    void bulkImport_shouldUpdateChangedAndSkipUnchangedExistingWords() {
+        // given
+        Word existingChanged = createWord(1L, "word1", "słowo1", "polish", 4, "old example", "explanation1");
+        Word existingSame = createWord(2L, "word2", "słowo2", "polish", 2, "example2", "explanation2");
+        List<Word> wordsToImport = Arrays.asList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"),
+            createWord(null, "word2", "słowo2", "polish", 1, "example2", "explanation2"),
+            createWord(null, "word2", "słowo2", "polish", 1, "example2", "explanation2"),
+            createWord(null, "word3", "słowo3", "polish", 1, "example3", "explanation3")
+        );
+        when(wordRepository.findByLanguageAndOriginalWordIn(eq("polish"), anyList()))
+                .thenReturn(Arrays.asList(existingChanged, existingSame));
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ImportSummary summary = wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        assertThat(summary).isEqualTo(new ImportSummary(4, 1, 1, 1, 0, 1));
+        assertThat(existingChanged.getExampleUsage()).isEqualTo("example1");
+        assertThat(existingChanged.getProficiencyLevel()).isEqualTo(4);
+        verify(wordRepository).findByLanguageAndOriginalWordIn(eq("polish"), anyList());
+        verify(wordRepository).saveAll(Collections.singletonList(wordsToImport.get(3)));
+    }
+
+    @Test
+    void bulkImport_insertModeShouldNotTouchExistingWords() {
+        // given
+        Word existing = createWord(1L, "word1", "słowo1", "polish", 4, "old example", "explanation1");
+        List<Word> wordsToImport = Collections.singletonList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"));
+        when(wordRepository.findByLanguageAndOriginalWordIn(eq("polish"), anyList()))
+                .thenReturn(Collections.singletonList(existing));
+
+        // when
+        ImportSummary summary = wordService.bulkImport(wordsToImport, ImportMode.INSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        assertThat(summary).isEqualTo(new ImportSummary(1, 0, 0, 1, 0, 0));
+        assertThat(existing.getExampleUsage()).isEqualTo("old example");
+    }
+
+    @Test
+    void bulkImport_shouldSkipNearDuplicatesWhenRequested() {
+        // given
+        Word nearDuplicate = createWord(null, "Mam dosc", "I'm fed up", "polish", 1, null, null);
+        Word fresh = createWord(null, "kot", "cat", "polish", 1, null, null);
+        List<Word> wordsToImport = Arrays.asList(nearDuplicate, fresh);
+        NearDuplicateHit hit = new NearDuplicateHit("polish", "Mam dosc", "I'm fed up",
+                List.of(new NearDuplicateMatch(7L, "Mam dość", "I'm fed up", 1.0)));
+        when(nearDuplicateDetector.isEnabled()).thenReturn(true);
+        when(nearDuplicateDetector.scanImport(wordsToImport))
+                .thenReturn(new NearDuplicateDetector.ImportScan(List.of(nearDuplicate), List.of(hit)));
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ImportSummary summary = wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.SKIP);
+
+        // then
+        verify(wordRepository).saveAll(Collections.singletonList(fresh));
+        verify(nearDuplicateDetector).indexAfterCommit(List.of(fresh));
+        assertThat(summary.received()).isEqualTo(2);
+        assertThat(summary.inserted()).isEqualTo(1);
+        assertThat(summary.skippedNearDuplicates()).isEqualTo(1);
+        assertThat(summary.nearDuplicates()).containsExactly(hit);
+    }
+
+    @Test
+    void bulkImport_shouldUseCopyLoadWhenSupported() {
+        // given
+        List<Word> wordsToImport = Arrays.asList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"),
+            createWord(null, "word2", "słowo2", "polish", 2, "example2", "explanation2")
+        );
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        ImportSummary loadSummary = new ImportSummary(2, 1, 0, 1, 0, 0);
+        when(wordBulkOperations.load(wordsToImport, ImportMode.UPSERT, false))
+                .thenReturn(new ImportResult(loadSummary, List.of()));
+
+        // when
+        ImportSummary summary = wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then - bez indeksu bliskich duplikatów wiersze nie są odczytywane ponownie
+        assertThat(summary).isEqualTo(loadSummary);
+        verify(wordRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void bulkImport_shouldReadBackAffectedRowsOnlyForNearDuplicateIndex() {
+        // given
+        List<Word> wordsToImport = Collections.singletonList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"));
+        List<Word> insertedWords = Collections.singletonList(
+            createWord(10L, "word1", "słowo1", "polish", 1, "example1", "explanation1"));
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(nearDuplicateDetector.isEnabled()).thenReturn(true);
+        when(wordBulkOperations.load(wordsToImport, ImportMode.UPSERT, true))
+                .thenReturn(new ImportResult(new ImportSummary(1, 1, 0, 0, 0, 0), insertedWords));
+
+        // when
+        wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        verify(nearDuplicateDetector).indexAfterCommit(insertedWords);
+        verify(nearDuplicateDetector, never()).rebuildAfterCommit();
+    }
+
+    @Test
+    void importBatch_shouldClearCacheOnlyWhenBatchWrites() {
+        // given
+        List<Word> batch = Collections.singletonList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"));
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        when(wordBulkOperations.load(batch, ImportMode.UPSERT, false))
+                .thenReturn(new ImportResult(new ImportSummary(1, 1, 0, 0, 0, 0), List.of()))
+                .thenReturn(new ImportResult(new ImportSummary(1, 0, 0, 1, 0, 0), List.of()));
+
+        // when
+        wordService.importBatch(batch, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+        wordService.importBatch(batch, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then - tylko pierwsza paczka coś zapisała
+        verify(wordCacheEvictor, times(1)).clearAfterCommit();
+    }
+
+    @Test
+    void bulkImport_shouldClearCacheBeforeVersionBump() {
+        // given
+        List<Word> wordsToImport = Collections.singletonList(
+            createWord(null, "word1", "słowo1", "polish", 1, "example1", "explanation1"));
+        when(wordRepository.saveAll(anyList())).thenReturn(wordsToImport);
+
+        // when
+        wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        InOrder inOrder = inOrder(wordCacheEvictor, vocabularyVersionService);
+        inOrder.verify(wordCacheEvictor).clearAfterCommit();
+        inOrder.verify(vocabularyVersionService).bumpAfterCommit();
+    }
+
+    @Test
+    void importFromCsv_shouldUseCopyLoadWhenSupported() throws IOException {
+        // given
+        String csvContent = "originalWord,translation,language,proficiencyLevel,exampleUsage,explanation\n" +
+                "hello,cześć,polish,1,Hello example,Hello explanation";
+        MultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8));
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        ImportSummary loadSummary = new ImportSummary(1, 1, 0, 0, 0, 0);
+        when(wordBulkOperations.load(anyList(), eq(ImportMode.UPSERT), eq(false)))
+                .thenReturn(new ImportResult(loadSummary, Collections.emptyList()));
+
+        // when
+        ImportSummary summary = wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE);
+
+        // then
+        assertThat(summary).isEqualTo(loadSummary);
+        verify(wordBulkOperations).load(argThat(words -> words.size() == 1), eq(ImportMode.UPSERT), eq(false));
+        verify(wordRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void bulkImport_shouldThrowExceptionForInvalidWord() {
         // given
@@ -504,7 +1133,7 @@ class WordServiceTest {
         List<Word> wordsToImport = Collections.singletonList(invalidWord);
 
         // when & then
-        assertThatThrownBy(() -> wordService.bulkImport(wordsToImport))
+        assertThatThrownBy(() -> wordService.bulkImport(wordsToImport, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Invalid word data");
     }
@@ -512,32 +1141,37 @@ class WordServiceTest {
     @Test
     void bulkDelete_shouldDeleteWords() {
         // given
-        List<Long> wordIds = Arrays.asList(1L, 2L, 3L);
-        when(wordRepository.deleteByIdIn(wordIds)).thenReturn(3);
+        List<Long> wordIds = Arrays.asList(1L, 2L, 3L, 99L);
+        List<Long> deletedIds = Arrays.asList(1L, 2L, 3L);
+        when(wordBulkOperations.deleteByIds(wordIds)).thenReturn(deletedIds);
 
         // when
-        int deletedCount = wordService.bulkDelete(wordIds);
+        List<Long> result = wordService.bulkDelete(wordIds);
 
         // then
-        assertThat(deletedCount).isEqualTo(3);
-        verify(wordRepository).deleteByIdIn(wordIds);
+        assertThat(result).containsExactly(1L, 2L, 3L);
+        verify(wordBulkOperations).deleteByIds(wordIds);
+        verify(wordCacheEvictor).evictAfterCommit(deletedIds);
+        verify(nearDuplicateDetector).removeAfterCommit(deletedIds);
+        verify(vocabularyStatsService).reloadAfterCommit();
+        verify(vocabularyVersionService).bumpAfterCommit();
+        verifyNoInteractions(wordRepository);
     }
 
     @Test
     void bulkDelete_shouldHandleEmptyList() {
         // given
         List<Long> wordIds = Collections.emptyList();
-        when(wordRepository.deleteByIdIn(wordIds)).thenReturn(0);
+        when(wordBulkOperations.deleteByIds(wordIds)).thenReturn(Collections.emptyList());
 
         // when
-        int deletedCount = wordService.bulkDelete(wordIds);
+        List<Long> result = wordService.bulkDelete(wordIds);
 
         // then
-        assertThat(deletedCount).isEqualTo(0);
+        assertThat(result).isEmpty();
+        verifyNoInteractions(vocabularyVersionService, vocabularyStatsService);
     }
 
-
-
     @Test
     void importFromCsv_shouldHandleIOException() throws IOException {
         // given
@@ -545,7 +1179,7 @@ class WordServiceTest {
         when(file.getInputStream()).thenThrow(new IOException("File error"));
 
         // when & then
-        assertThatThrownBy(() -> wordService.importFromCsv(file))
+        assertThatThrownBy(() -> wordService.importFromCsv(file, ImportMode.UPSERT, NearDuplicatePolicy.IGNORE))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Error importing CSV");
     }
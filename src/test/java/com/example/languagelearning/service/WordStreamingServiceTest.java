@@ -0,0 +1,148 @@
+package com.example.languagelearning.service;
+
+import com.example.languagelearning.model.Word;
+import com.example.languagelearning.repository.WordBulkOperations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WordStreamingServiceTest {
+
+    @Mock
+    private WordBulkOperations wordBulkOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private WordStreamingService wordStreamingService;
+
+    @BeforeEach
+    void setUp() {
+        wordStreamingService = new WordStreamingService(wordBulkOperations, objectMapper);
+    }
+
+    @Test
+    void writeAllWords_shouldWriteSameJsonAsMaterializedList() throws IOException {
+        // given
+        List<Word> words = List.of(word(1L, "kot", "cat"), word(2L, "Mam dość", "I'm fed up \"really\""));
+        givenCursorReturns(words);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = wordStreamingService.writeAllWords(out);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(words));
+    }
+
+    @Test
+    void writeAllWords_shouldWriteEmptyArrayWhenNoWords() throws IOException {
+        // given
+        givenCursorReturns(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        wordStreamingService.writeAllWords(out);
+
+        // then
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void writeAllWords_shouldPropagateClientDisconnect() {
+        // given
+        givenCursorReturns(List.of(word(1L, "kot", "cat".repeat(10_000))));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // when / then
+        assertThatThrownBy(() -> wordStreamingService.writeAllWords(broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    void writeChangesSince_shouldWriteUpsertsDeletesAndNextToken() throws IOException {
+        // given
+        Word changed = word(1L, "kot", "cat");
+        when(wordBulkOperations.isCopySupported()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Word> upserted = invocation.getArgument(1);
+            LongConsumer deleted = invocation.getArgument(2);
+            upserted.accept(changed);
+            deleted.accept(7L);
+            return 1200L;
+        }).when(wordBulkOperations).forEachChangeSince(eq(1000L), any(), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        wordStreamingService.writeChangesSince(1000L, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"since\":1000,\"fullResync\":false,\"upserted\":[" + objectMapper.writeValueAsString(changed)
+                        + "],\"deleted\":[7],\"token\":1200}");
+    }
+
+    @Test
+    void writeChangesSince_shouldFallBackToFullResyncWithoutChangeTracking() throws IOException {
+        // given
+        Word word = word(1L, "kot", "cat");
+        when(wordBulkOperations.isCopySupported()).thenReturn(false);
+        givenCursorReturns(List.of(word));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        wordStreamingService.writeChangesSince(1000L, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"since\":1000,\"fullResync\":true,\"upserted\":[" + objectMapper.writeValueAsString(word)
+                        + "],\"deleted\":[],\"token\":0}");
+        verify(wordBulkOperations, never()).forEachChangeSince(anyLong(), any(), any());
+    }
+
+    private void givenCursorReturns(List<Word> words) {
+        doAnswer(invocation -> {
+            Consumer<Word> consumer = invocation.getArgument(0);
+            words.forEach(consumer);
+            return null;
+        }).when(wordBulkOperations).forEachWord(any());
+    }
+
+    private static Word word(Long id, String original, String translation) {
+        Word word = new Word();
+        word.setId(id);
+        word.setOriginalWord(original);
+        word.setTranslation(translation);
+        word.setLanguage("polish");
+        word.setProficiencyLevel(2);
+        return word;
+    }
+}
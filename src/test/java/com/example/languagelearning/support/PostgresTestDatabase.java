@@ -0,0 +1,108 @@
+package com.example.languagelearning.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * PostgreSQL server for tests of the paths that H2 cannot run (COPY, triggers, migrations). Uses the
+ * server from {@code TEST_POSTGRES_URL} (a JDBC URL of any database on it, with
+ * {@code TEST_POSTGRES_USERNAME} / {@code TEST_POSTGRES_PASSWORD}) when set, otherwise one
+ * {@code postgres:16-alpine} container per JVM when Docker is available. Without either the tests
+ * are skipped: annotate them with {@code @EnabledIf(PostgresTestDatabase.AVAILABLE)}.
+ * <p>
+ * Every test class works on a database of its own, created empty and dropped when the JVM exits.
+ */
+@Slf4j
+public final class PostgresTestDatabase {
+
+    public static final String AVAILABLE = "com.example.languagelearning.support.PostgresTestDatabase#isAvailable";
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private static Server server;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static synchronized boolean isAvailable() {
+        return server() != null;
+    }
+
+    /**
+     * Creates an empty database and points the Spring datasource at it - for {@code @DynamicPropertySource}.
+     */
+    public static void registerProperties(DynamicPropertyRegistry registry) {
+        String url = createDatabase();
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> server().username());
+        registry.add("spring.datasource.password", () -> server().password());
+    }
+
+    /**
+     * Creates an empty database and returns its JDBC URL.
+     */
+    public static synchronized String createDatabase() {
+        Server current = server();
+        if (current == null) {
+            throw new IllegalStateException("No PostgreSQL server for tests - set TEST_POSTGRES_URL or start Docker");
+        }
+        String name = "it_" + UUID.randomUUID().toString().replace("-", "");
+        JdbcTemplate admin = new JdbcTemplate(current.dataSource(current.url()));
+        admin.execute("CREATE DATABASE " + name);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dropDatabase(admin, name)));
+        return current.url().replaceFirst("/[^/?]*(\\?|$)", "/" + name + "$1");
+    }
+
+    public static DataSource dataSource(String url) {
+        return server().dataSource(url);
+    }
+
+    private static Server server() {
+        if (server == null) {
+            server = startServer();
+        }
+        return server.url() != null ? server : null;
+    }
+
+    private static Server startServer() {
+        String url = System.getenv("TEST_POSTGRES_URL");
+        if (url != null && !url.isBlank()) {
+            return new Server(url, env("TEST_POSTGRES_USERNAME", "postgres"), env("TEST_POSTGRES_PASSWORD", ""));
+        }
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return new Server(null, null, null);
+        }
+        // Kontener do końca JVM - zatrzymuje go Ryuk
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(IMAGE);
+        container.start();
+        return new Server(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    // Bez znaczenia dla wyniku testów - serwer z TEST_POSTGRES_URL mógł już zniknąć
+    private static void dropDatabase(JdbcTemplate admin, String name) {
+        try {
+            admin.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+        } catch (RuntimeException e) {
+            log.warn("Could not drop test database {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private record Server(String url, String username, String password) {
+
+        DataSource dataSource(String databaseUrl) {
+            return new DriverManagerDataSource(databaseUrl, username, password);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.languagelearning.support;
+
+import com.example.languagelearning.config.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for tests: runs an action with a {@link QueryCounter} bound to the thread
+ * and fails when it executes more JDBC statements than allowed.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> action) {
+        QueryCounter.start();
+        try {
+            T result = action.get();
+            QueryCounter.QueryStats stats = QueryCounter.current();
+            assertThat(stats.getStatements())
+                    .as("JDBC statements executed (%s)", stats)
+                    .isLessThanOrEqualTo(maxStatements);
+            return result;
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    public static void assertMaxStatements(int maxStatements, Runnable action) {
+        assertMaxStatements(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}